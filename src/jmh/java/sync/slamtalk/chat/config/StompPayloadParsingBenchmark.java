@@ -0,0 +1,83 @@
+package sync.slamtalk.chat.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SEND 본문 파싱 벤치마크
+ *
+ * <p>legacy : 필드마다 새 ObjectMapper 로 본문 전체를 트리로 파싱(기존 StompHandler 방식)
+ * <br>streaming : 공유 ObjectMapper 의 스트리밍 파서로 한 번만 읽기(StompHandler.parseChatMessage)
+ *
+ * <pre>./gradlew jmh -Pjmh.includes=StompPayloadParsingBenchmark</pre>
+ * 할당량 비교는 gc 프로파일러 결과의 gc.alloc.rate.norm 을 확인합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StompPayloadParsingBenchmark {
+
+    // 일반적인 채팅(약 200B)과 긴 메세지(약 4KB)
+    @Param({"200", "4096"})
+    private int payloadSize;
+
+    private byte[] payload;
+    private StompHandler stompHandler;
+
+    @Setup
+    public void setUp() {
+        String prefix = "{\"senderId\":12345,\"senderNickname\":\"slamtalk-user\",\"visited\":true,\"content\":\"";
+        String suffix = "\"}";
+        StringBuilder content = new StringBuilder();
+        String sentence = "오늘 저녁 7시에 코트에서 만나요! see you at the court. ";
+        while (prefix.length() + content.length() + suffix.length() < payloadSize) {
+            content.append(sentence);
+        }
+        content.setLength(Math.max(0, payloadSize - prefix.length() - suffix.length()));
+        payload = (prefix + content + suffix).getBytes(StandardCharsets.UTF_8);
+
+        stompHandler = new StompHandler(null, null, null, new ObjectMapper(), null);
+    }
+
+    @Benchmark
+    public ChatMessageDTO legacy() {
+        String json = new String(payload, StandardCharsets.UTF_8);
+        String content = legacyExtract(json, "content");
+        String nickname = legacyExtract(json, "senderNickname");
+        Long senderId = Long.parseLong(legacyExtract(json, "senderId"));
+        return ChatMessageDTO.builder()
+                .senderId(senderId)
+                .senderNickname(nickname)
+                .content(content)
+                .build();
+    }
+
+    @Benchmark
+    public ChatMessageDTO streaming() {
+        return stompHandler.parseChatMessage(payload);
+    }
+
+    /**
+     * 기존 extractRoomContent / extractNickname / extractUserId 와 같은 방식
+     */
+    private static String legacyExtract(String json, String field) {
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            JsonNode rootNode = mapper.readTree(json);
+            if (rootNode.has(field)) {
+                return rootNode.get(field).toString();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+package sync.slamtalk.chat.redis;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RedisService 메세지 저장/조회 벤치마크(임베디드 Redis)
+ *
+ * <p>saveMessage : 메세지 한 건 저장(해시 + 정렬된 세트 + 연속 구간 + 마지막 메세지, 한 번의 파이프라인)
+ * <br>getContiguousMessages : 연속 구간에서 한 페이지 조회
+ *
+ * <pre>./gradlew jmh -Pjmh.includes=RedisServiceBenchmark</pre>
+ * 로컬 루프백 왕복 시간이 포함되므로 절대값보다 릴리스 간 변화를 봅니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisServiceBenchmark {
+
+    private static final long WRITE_ROOM_ID = 1L;
+    private static final long READ_ROOM_ID = 2L;
+    private static final long TIMEOUT_SECONDS = 600;
+
+    // 한 번에 조회하는 메세지 갯수
+    @Param({"30"})
+    private int pageSize;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisService redisService;
+    private long nextMessageId;
+
+    @Setup(Level.Trial)
+    public void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        redisService = new RedisService(stringRedisTemplate, stringRedisTemplate);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetData() {
+        // 저장 벤치마크로 늘어난 키 정리 후 조회용 채팅방 준비
+        stringRedisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+
+        List<ChatMessageDTO> history = new ArrayList<>(pageSize * 4);
+        for (long messageId = pageSize * 4L; messageId >= 1; messageId--) {
+            history.add(message(READ_ROOM_ID, messageId));
+        }
+        redisService.cacheHistory(READ_ROOM_ID, history, 0L, Long.MAX_VALUE, true, TIMEOUT_SECONDS);
+        nextMessageId = 1L;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public void saveMessage() {
+        redisService.saveMessage(message(WRITE_ROOM_ID, nextMessageId++), TIMEOUT_SECONDS);
+    }
+
+    @Benchmark
+    public RedisService.CachedHistory getContiguousMessages() {
+        return redisService.getContiguousMessages(READ_ROOM_ID, Long.MAX_VALUE, pageSize);
+    }
+
+    private static ChatMessageDTO message(long roomId, long messageId) {
+        return ChatMessageDTO.builder()
+                .messageId(Long.toString(messageId))
+                .roomId(Long.toString(roomId))
+                .senderId(messageId % 10)
+                .senderNickname("\"slamtalk-user\"")
+                .content("\"오늘 저녁 7시에 코트에서 만나요!\"")
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package sync.slamtalk.chat.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.entity.ChatRoom;
+import sync.slamtalk.chat.entity.Messages;
+import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.MessageArchiveRepository;
+import sync.slamtalk.chat.repository.MessagesRepository;
+import sync.slamtalk.user.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 내역 DTO 변환 벤치마크
+ *
+ * <p>ChatServiceImpl.getPreviousChatMessages 가 위임하는 ChatHistoryReader.readBefore 에서
+ * Redis 가 비어 있고 DB 에서 한 페이지를 모두 가져오는 경우의 변환 비용을 측정합니다.
+ * (엔티티 -> DTO 변환, 작성자 프로필 채우기, 중복 제거)
+ * Redis 와 저장소는 메모리 구현으로 대체하므로 I/O 는 포함되지 않습니다.
+ *
+ * <pre>./gradlew jmh -Pjmh.includes=ChatHistoryMappingBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatHistoryMappingBenchmark {
+
+    private static final long ROOM_ID = 1L;
+
+    // 기본 페이지(30)와 큰 페이지
+    @Param({"30", "200"})
+    private int pageSize;
+
+    private ChatHistoryReader chatHistoryReader;
+
+    @Setup
+    public void setUp() {
+        ChatRoom chatRoom = ChatRoom.builder()
+                .id(ROOM_ID)
+                .roomType(RoomType.TOGETHER)
+                .name("benchmark")
+                .build();
+        List<Messages> page = new ArrayList<>(pageSize);
+        for (long messageId = pageSize; messageId >= 1; messageId--) {
+            page.add(Messages.builder()
+                    .id(messageId)
+                    .chatRoom(chatRoom)
+                    .senderId(messageId % 10)
+                    .senderNickname("\"slamtalk-user\"")
+                    .content("\"오늘 저녁 7시에 코트에서 만나요!\"")
+                    .creationTime(LocalDateTime.now().toString())
+                    .build());
+        }
+
+        chatHistoryReader = new ChatHistoryReader(
+                new EmptyRedisService(),
+                repository(MessagesRepository.class, page),
+                repository(MessageArchiveRepository.class, Collections.emptyList()),
+                new SenderProfileResolver(repository(UserRepository.class, Collections.emptyList()), 10000, 300));
+    }
+
+    @Benchmark
+    public List<ChatMessageDTO> readBefore() {
+        return chatHistoryReader.readBefore(ROOM_ID, null, pageSize);
+    }
+
+
+    /**
+     * 목록을 반환하는 조회 메서드는 모두 rows 를 돌려주는 메모리 저장소
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, List<?> rows) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (List.class.isAssignableFrom(method.getReturnType()) || Iterable.class.equals(method.getReturnType())) {
+                int limit = rows.size();
+                if (args != null) {
+                    for (Object arg : args) {
+                        if (arg instanceof Pageable pageable && pageable.isPaged()) {
+                            limit = Math.min(limit, pageable.getPageSize());
+                        }
+                    }
+                }
+                return rows.subList(0, limit);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * 캐시된 내역이 없는 Redis
+     */
+    private static class EmptyRedisService extends RedisService {
+
+        EmptyRedisService() {
+            super(null, null);
+        }
+
+        @Override
+        public CachedHistory getContiguousMessages(Long roomId, long fromMessageId, int size) {
+            return new CachedHistory(Collections.emptyList(), null);
+        }
+
+        @Override
+        public void cacheHistory(Long roomId, List<ChatMessageDTO> messages, long coveredFrom, long coveredTo,
+                                 boolean latest, long timeoutInSeconds) {
+        }
+    }
+}
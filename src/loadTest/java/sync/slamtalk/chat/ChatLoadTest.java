@@ -0,0 +1,330 @@
+package sync.slamtalk.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import redis.embedded.RedisServer;
+import sync.slamtalk.chat.dto.request.ChatCreateDTO;
+import sync.slamtalk.chat.metrics.ChatCallCountingConfig.CountingDataSource;
+import sync.slamtalk.chat.service.ChatService;
+import sync.slamtalk.security.jwt.JwtTokenProvider;
+import sync.slamtalk.user.UserRepository;
+import sync.slamtalk.user.entity.User;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 부하 테스트
+ *
+ * <p>H2 와 임베디드 Redis 로 애플리케이션을 띄우고, N 개의 STOMP 클라이언트를 M 개의 채팅방에 나누어 구독시킨 뒤
+ * 목표 속도로 /pub/chat/message/{roomId} 에 메세지를 발행합니다.
+ * 발행부터 같은 채팅방 구독자에게 도착할 때까지의 지연(p50/p99/p999)과
+ * 서버의 프레임당 DB/Redis 호출 수, 전체 DB Statement 수를 로그로 남기고 build/reports/load-test 에 JSON 으로 저장합니다.
+ * DB Statement 수는 DataSource 에서 세므로(ChatCallCountingConfig) JPA 와 JdbcTemplate 호출이 모두 포함됩니다.
+ *
+ * <pre>./gradlew loadTest -Dload.clients=200 -Dload.rooms=20 -Dload.rate=500 -Dload.duration-seconds=60</pre>
+ * ChatInboundInterceptor 를 변경했다면 배포 전에 변경 전후 결과를 비교합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class ChatLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 100);
+    private static final int ROOMS = Integer.getInteger("load.rooms", 10);
+    private static final int RATE = Integer.getInteger("load.rate", 200); // 초당 발행 메세지 수
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+
+    private static final String ROOM_DESTINATION_PREFIX = "/sub/chat/room/";
+    private static final String MESSAGE_DESTINATION_PREFIX = "/pub/chat/message/";
+    private static final String CONTENT_PREFIX = "load:";
+
+    private static final int REDIS_PORT = freePort();
+    private static final RedisServer REDIS_SERVER = startRedis(REDIS_PORT);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private SimpUserRegistry simpUserRegistry;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private DataSource dataSource;
+
+    // 측정 구간의 도착 지연(ns)
+    private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicLong delivered = new AtomicLong();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+    // 측정 시작 시점의 DB Statement 수
+    private volatile long statementsFrom;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", () -> REDIS_PORT);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS_SERVER.stop();
+    }
+
+
+    @Test
+    void publishAndMeasureDeliveryLatency() throws Exception {
+        // 1. 사용자와 채팅방 준비(클라이언트 i 는 채팅방 i % ROOMS 에 참여)
+        List<User> users = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            users.add(userRepository.save(User.of("load" + i + "@slamtalk.com", "password", "load" + i)));
+        }
+        long[] roomIds = new long[ROOMS];
+        int[] roomSizes = new int[ROOMS];
+        for (int r = 0; r < ROOMS; r++) {
+            List<Long> participants = new ArrayList<>();
+            for (int i = r; i < CLIENTS; i += ROOMS) {
+                participants.add(users.get(i).getId());
+            }
+            roomSizes[r] = participants.size();
+            roomIds[r] = chatService.createChatRoom(ChatCreateDTO.builder()
+                    .participants(participants)
+                    .roomType("TM")
+                    .togetherId((long) r + 1)
+                    .name("load-room-" + r)
+                    .build());
+        }
+
+        // 2. 클라이언트 연결과 구독
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        String url = "ws://localhost:" + port + "/ws/slamtalk";
+
+        List<StompSession> sessions = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("authorization", "Bearer " + jwtTokenProvider.createAccessToken(users.get(i), "ROLE_USER"));
+            StompSession session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders,
+                    new StompSessionHandlerAdapter() {
+                    }).get(10, TimeUnit.SECONDS);
+            session.subscribe(ROOM_DESTINATION_PREFIX + roomIds[i % ROOMS], new LatencyRecorder());
+            sessions.add(session);
+        }
+        awaitSubscriptions();
+
+        // 3. 목표 속도로 발행(워밍업 이후만 측정)
+        CountingDataSource statements = dataSource.unwrap(CountingDataSource.class);
+        Map<String, double[]> framesBefore = frameCalls();
+        long expected = publish(sessions, users, roomIds, roomSizes, statements);
+
+        // 4. 남은 메세지 도착 대기
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (delivered.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        long measuredStatements = statements.getStatementCount() - statementsFrom;
+        Map<String, double[]> framesAfter = frameCalls();
+        sessions.forEach(StompSession::disconnect);
+        stompClient.stop();
+
+        // 5. 결과
+        Map<String, Object> report = report(expected, measuredStatements, framesBefore, framesAfter);
+        log.info("=== chat load test ===");
+        report.forEach((key, value) -> log.info("{} : {}", key, value));
+        File output = new File("build/reports/load-test/chat-load-test.json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+
+        assertThat(delivered.get()).isPositive();
+    }
+
+
+    /**
+     * 발행 후 측정 구간에 기대하는 전달 수 반환
+     */
+    private long publish(List<StompSession> sessions, List<User> users, long[] roomIds, int[] roomSizes,
+                         CountingDataSource statements) throws InterruptedException {
+        ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor();
+        AtomicLong sequence = new AtomicLong();
+        AtomicLong expected = new AtomicLong();
+        long startNanos = System.nanoTime();
+        long warmupEndNanos = startNanos + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+
+        publisher.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            if (measureFromNanos == Long.MAX_VALUE && now >= warmupEndNanos) {
+                statementsFrom = statements.getStatementCount();
+                measureFromNanos = now;
+            }
+            int client = (int) (sequence.getAndIncrement() % sessions.size());
+            int room = client % ROOMS;
+            if (now >= measureFromNanos) {
+                expected.addAndGet(roomSizes[room]);
+            }
+
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("senderId", users.get(client).getId());
+            payload.put("senderNickname", users.get(client).getNickname());
+            payload.put("content", CONTENT_PREFIX + now);
+            try {
+                sessions.get(client).send(MESSAGE_DESTINATION_PREFIX + roomIds[room], payload);
+            } catch (Exception e) {
+                log.warn("send failed : {}", e.getMessage());
+            }
+        }, 0, 1_000_000_000L / RATE, TimeUnit.NANOSECONDS);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_SECONDS + DURATION_SECONDS));
+        publisher.shutdown();
+        publisher.awaitTermination(5, TimeUnit.SECONDS);
+        return expected.get();
+    }
+
+
+    private Map<String, Object> report(long expected, long statements,
+                                       Map<String, double[]> framesBefore, Map<String, double[]> framesAfter) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", CLIENTS);
+        report.put("rooms", ROOMS);
+        report.put("rate", RATE);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("expectedDeliveries", expected);
+        report.put("measuredDeliveries", sorted.length);
+        report.put("p50Millis", percentileMillis(sorted, 0.50));
+        report.put("p99Millis", percentileMillis(sorted, 0.99));
+        report.put("p999Millis", percentileMillis(sorted, 0.999));
+        report.put("maxMillis", percentileMillis(sorted, 1.0));
+        report.put("dbStatements", statements);
+
+        // 프레임당 평균 DB/Redis 호출 수(명령별)
+        Map<String, Object> frames = new TreeMap<>();
+        framesAfter.forEach((key, after) -> {
+            double[] before = framesBefore.getOrDefault(key, new double[2]);
+            long count = (long) (after[0] - before[0]);
+            if (count > 0) {
+                frames.put(key, String.format("%.2f", (after[1] - before[1]) / count));
+            }
+        });
+        report.put("callsPerFrame", frames);
+        return report;
+    }
+
+
+    /**
+     * Map("지표:명령:단계", [프레임 수, 호출 수 합계])
+     */
+    private Map<String, double[]> frameCalls() {
+        Map<String, double[]> calls = new HashMap<>();
+        for (String name : List.of("chat.stomp.frame.db.calls", "chat.stomp.frame.redis.calls")) {
+            for (DistributionSummary summary : meterRegistry.find(name).summaries()) {
+                String key = (name.contains(".db.") ? "db:" : "redis:") + summary.getId().getTag("command")
+                        + ":" + summary.getId().getTag("stage");
+                calls.put(key, new double[]{summary.count(), summary.totalAmount()});
+            }
+        }
+        return calls;
+    }
+
+
+    private void awaitSubscriptions() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            int subscriptions = simpUserRegistry.findSubscriptions(
+                    s -> s.getDestination().startsWith(ROOM_DESTINATION_PREFIX)).size();
+            if (subscriptions >= CLIENTS) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("subscriptions not ready");
+    }
+
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+
+    /**
+     * 같은 JVM 에서 발행했으므로 본문의 발행 시각(nanoTime)으로 도착 지연 계산
+     */
+    private class LatencyRecorder implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long now = System.nanoTime();
+            Object content = ((Map<?, ?>) payload).get("content");
+            if (!(content instanceof String text) || !text.startsWith(CONTENT_PREFIX)) {
+                return;
+            }
+            long sentNanos = Long.parseLong(text.substring(CONTENT_PREFIX.length()));
+            if (sentNanos >= measureFromNanos) {
+                latencies.add(now - sentNanos);
+                delivered.incrementAndGet();
+            }
+        }
+    }
+
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RedisServer startRedis(int port) {
+        try {
+            RedisServer redisServer = new RedisServer(port);
+            redisServer.start();
+            return redisServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package sync.slamtalk;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SlamtalkApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(SlamtalkApplication.class, args);
@@ -1,35 +1,50 @@
 package sync.slamtalk.chat.config;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
-import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 import sync.slamtalk.chat.dto.request.ChatMessageDTO;
-import sync.slamtalk.chat.entity.ChatRoom;
-import sync.slamtalk.chat.entity.Messages;
 import sync.slamtalk.chat.entity.RoomType;
-import sync.slamtalk.chat.entity.UserChatRoom;
-import sync.slamtalk.chat.repository.ChatRoomRepository;
-import sync.slamtalk.chat.repository.UserChatRoomRepository;
-import sync.slamtalk.chat.service.ChatNotificationServiceImpl;
+import sync.slamtalk.chat.metrics.ChatMetrics;
+import sync.slamtalk.chat.service.ChatMessageAckSender;
+import sync.slamtalk.chat.service.ChatPresenceService;
 import sync.slamtalk.chat.service.ChatServiceImpl;
-import sync.slamtalk.notification.service.NotificationService;
 import sync.slamtalk.security.jwt.JwtTokenProvider;
+import sync.slamtalk.security.jwt.StompPrincipal;
 import sync.slamtalk.user.UserRepository;
-import sync.slamtalk.user.entity.User;
 
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * STOMP 인바운드 프레임 처리
+ *
+ * <p>clientInboundChannel 의 {@link #preSend} 는 WebSocket 전송 스레드에서 실행되므로 검증만 수행합니다.
+ * <ul>
+ *     <li>preSend(전송 스레드) : CONNECT 인증, SUBSCRIBE/SEND 의 채팅방 존재/참여 검증(ChatRoomAccessCache 로 대부분 캐시 조회)</li>
+ *     <li>beforeHandle(인바운드 실행기 스레드) : 메세지 저장, readIndex 갱신, 농구장 채팅방 참여, 접속 상태 기록 등 Redis/DB 쓰기.
+ *     저장한 메세지는 발급한 메세지 아이디와 작성 시간을 채운 본문으로 바꿔 컨트롤러에 전달합니다.</li>
+ * </ul>
+ * beforeHandle 은 채널의 핸들러마다 호출되므로 프레임을 실제로 처리하는 핸들러에서 한 번만 실행합니다.
+ * (SEND : 컨트롤러 핸들러, SUBSCRIBE/UNSUBSCRIBE : 브로커 핸들러)
+ * 검증 실패는 전송 스레드에서 예외로 처리되어 클라이언트에 ERROR 프레임으로 전달됩니다.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @Component
-public class ChatInboundInterceptor implements ChannelInterceptor {
+public class ChatInboundInterceptor implements ExecutorChannelInterceptor {
 
     /**
      * 메세지 헤더에 존재하는 Authorization 으로 사용자 검증
@@ -38,17 +53,82 @@ public class ChatInboundInterceptor implements ChannelInterceptor {
     private final ChatServiceImpl chatService;
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
-    private final ChatRoomRepository chatRoomRepository;
     private final StompHandler stompHandler;
-    private final NotificationService notificationService;
-    private final UserChatRoomRepository userChatRoomRepository;
-    private final ChatNotificationServiceImpl chatNotificationService;
+    private final StompSessionRegistry stompSessionRegistry;
+    private final ChatPresenceService chatPresenceService;
+    private final ChatMetrics chatMetrics;
+    private final ChatMessageAckSender chatMessageAckSender;
+
+    // 채팅방 메세지 구독 경로(구독 중인 사용자 == 채팅방을 보고 있는 사용자)
+    private static final String ROOM_DESTINATION_PREFIX = "/sub/chat/room/";
+    // 브로커 구독 경로
+    private static final String BROKER_DESTINATION_PREFIX = "/sub/";
 
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(message);
 
+        // 명령별 검증 시간과 DB/Redis 호출 수 기록
+        Timer.Sample sample = chatMetrics.startFrame();
+        boolean success = false;
+        try {
+            validate(message, headerAccessor);
+            success = true;
+            return message;
+        } finally {
+            chatMetrics.endFrame(sample, headerAccessor.getCommand(), ChatMetrics.STAGE_VALIDATE, success);
+        }
+    }
+
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(message);
+        if (!handles(headerAccessor, handler)) {
+            return message;
+        }
+
+        // 명령별 처리 시간과 DB/Redis 호출 수 기록
+        Timer.Sample sample = chatMetrics.startFrame();
+        boolean success = false;
+        try {
+            Message<?> result = process(message, headerAccessor);
+            success = true;
+            return result;
+        } finally {
+            chatMetrics.endFrame(sample, headerAccessor.getCommand(), ChatMetrics.STAGE_HANDLE, success);
+        }
+    }
+
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+    }
+
+
+    /**
+     * 프레임을 실제로 처리하는 핸들러인지 확인
+     * SEND(/pub) 는 컨트롤러 핸들러, 브로커 경로(/sub) 구독/구독 해제는 브로커 핸들러에서만 처리
+     */
+    private boolean handles(StompHeaderAccessor headerAccessor, MessageHandler handler) {
+        StompCommand command = headerAccessor.getCommand();
+        if (StompCommand.SEND.equals(command)) {
+            return handler instanceof SimpAnnotationMethodMessageHandler;
+        }
+        if (StompCommand.SUBSCRIBE.equals(command)) {
+            String destination = headerAccessor.getDestination();
+            return handler instanceof AbstractBrokerMessageHandler
+                    && destination != null && destination.startsWith(BROKER_DESTINATION_PREFIX);
+        }
+        if (StompCommand.UNSUBSCRIBE.equals(command)) {
+            return handler instanceof AbstractBrokerMessageHandler;
+        }
+        return false;
+    }
+
+
+    private void validate(Message<?> message, StompHeaderAccessor headerAccessor) {
 
         // CONNECT
         /**
@@ -57,27 +137,57 @@ public class ChatInboundInterceptor implements ChannelInterceptor {
         if (StompCommand.CONNECT.equals(headerAccessor.getCommand())) {
             log.debug("=== CONNECT 진입 ===");
 
-            Long authorization = tokenProvider.stompExtractUserIdFromToken(headerAccessor.getFirstNativeHeader("authorization"));
-            Optional<User> userOptional = userRepository.findById(authorization);
-            if (userOptional.isEmpty()) {
+            StompPrincipal principal = tokenProvider.stompAuthenticate(headerAccessor.getFirstNativeHeader("authorization"));
+            if (!userRepository.existsById(principal.userId())) {
                 log.debug("인증실패");
                 throw new RuntimeException("JWT");
             }
+
+            // 세션에 인증 정보 저장 -> 이후 프레임은 토큰 검증 없이 Principal 사용
+            StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+            Objects.requireNonNull(accessor).setUser(principal);
+            // 토큰 만료는 세션 주기 검사로 처리
+            stompSessionRegistry.authenticate(headerAccessor.getSessionId(), principal);
             log.debug("성공");
             log.debug("=== CONNECT 완료 ===");
         }
 
 
-        // SUBSCRIBE
+        // SUBSCRIBE / SEND
         /**
-         * 1. 구독이 가능한(ChatRoom 에 존재하는) 채팅방인지 검증
+         * 1. 구독/발행이 가능한(ChatRoom 에 존재하는) 채팅방인지 검증
          * (채팅방생성 시 participants 의 userchatroom 에 해당 채팅방 설정해주었음)
+         *
+         * 2. 사용자가 참여한 채팅방(UserChatRoom 에 존재하는) 채팅방인지 검사
+         * - 이때 basketball chat 은 채팅방 구독 시 userChatRoom 에 추가 되므로 검증 하지 않음
+         * -  basketball chat 을 제외한 , direct/together/teamMatching chat 은 채팅방 생성 시점에
+         *    참여자들의 userChatRoom 에 추가하므로 사용자가 참여한 채팅방인지 검사함
          */
-        if (StompCommand.SUBSCRIBE.equals(headerAccessor.getCommand())) {
-            log.debug("=== SUBSCRIBE 진입 ===");
+        if (StompCommand.SUBSCRIBE.equals(headerAccessor.getCommand())
+                || StompCommand.SEND.equals(headerAccessor.getCommand())) {
+            log.debug("=== {} 검증 ===", headerAccessor.getCommand());
 
             // 채팅방의 존재 여부 검증
-            stompHandler.isExistChatRoom(headerAccessor);
+            RoomType roomType = stompHandler.isExistChatRoom(headerAccessor);
+
+            // basketball chat 이 아닌 경우 userchatRoom 에 이미 추가 되어 있어야 함
+            if (roomType != RoomType.BASKETBALL) {
+                stompHandler.isExistUserChatRoom(headerAccessor);
+                log.debug("=== 유저가 참여하고 있는 채팅방인지 검사 ===");
+            }
+        }
+    }
+
+
+    private Message<?> process(Message<?> message, StompHeaderAccessor headerAccessor) {
+
+        // SUBSCRIBE
+        /**
+         * 1. basketball chat 인 경우 userChatRoom 에 추가
+         * 2. 채팅방 접속 상태 기록
+         */
+        if (StompCommand.SUBSCRIBE.equals(headerAccessor.getCommand())) {
+            log.debug("=== SUBSCRIBE 진입 ===");
 
             // RoomId 만 추출
             String destination = headerAccessor.getDestination();
@@ -86,43 +196,29 @@ public class ChatInboundInterceptor implements ChannelInterceptor {
             // userId 추출
             Long userId = stompHandler.extractUserId(headerAccessor);
 
+            // basketball chat 인 경우 userChatRoom 에 추가
+            // BasketBallChatRoom 은 구독했을 때 유저의 채팅리스트에 추가됨
+            if (stompHandler.isExistChatRoom(headerAccessor) == RoomType.BASKETBALL) {
 
-            // userChatRoom 검사
-            Optional<ChatRoom> chatRoomOptional = chatRoomRepository.findById(roomId);
-            if (chatRoomOptional.isPresent()) {
-                ChatRoom chatRoom = chatRoomOptional.get();
+                // 이미 유저가 참여중인 농구장 채팅방인지 확인
+                Optional<Boolean> existAlreadyUserChatRoom = stompHandler.isExistAlreadyUserChatRoom(userId, roomId);
 
 
-                // basketball chat 이 아닌 경우 userchatRoom 에 이미 추가 되어 있어야 함
-                if (chatRoom.getRoomType()!=RoomType.BASKETBALL) {
-                    log.debug("이미 참여하고 있는 농구장");
-                    stompHandler.isExistUserChatRoom(headerAccessor);
+                // 존재하지 않는 경우에만 유저의 채팅 리스트에 추가
+                if (existAlreadyUserChatRoom.isEmpty()) {
+                    log.debug("유저의 채팅 리스트에 추가");
+                    stompHandler.addUserChatRoom(headerAccessor);
                 }
 
-                // basketball chat 인 경우 userChatRoom 에 추가
-                // BasketBallChatRoom 은 구독했을 때 유저의 채팅리스트에 추가됨
-                if (chatRoom.getRoomType().equals(RoomType.BASKETBALL)) {
-
-                    // destination 가져오기
-                    String dest = headerAccessor.getDestination();
-                    Long basketRoomId = stompHandler.extractRoomId(dest);
-
-                    // 이미 유저가 참여중인 농구장 채팅방인지 확인
-                    Optional<Boolean> existAlreadyUserChatRoom = stompHandler.isExistAlreadyUserChatRoom(userId, basketRoomId);
-
-
-                    // 존재하지 않는 경우에만 유저의 채팅 리스트에 추가
-                    if (existAlreadyUserChatRoom.isEmpty()) {
-                        log.debug("유저의 채팅 리스트에 추가");
-                        stompHandler.addUserChatRoom(headerAccessor);
-                    }
-
-                    // 이미 존재하는 경우 디버그
-                    if (existAlreadyUserChatRoom.isPresent()) {
-                        log.debug("이미 참여 하고 있는 방 재 입장");
-                    }
+                // 이미 존재하는 경우 디버그
+                if (existAlreadyUserChatRoom.isPresent()) {
+                    log.debug("이미 참여 하고 있는 방 재 입장");
                 }
             }
+            // 채팅방 접속 상태 기록
+            if (destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+                chatPresenceService.join(headerAccessor.getSessionId(), headerAccessor.getSubscriptionId(), userId, roomId);
+            }
             log.debug("=== SUBSCRIBE 완료 ===");
 
             // 메세지 읽음 처리 -> 컨트롤러 호출
@@ -131,14 +227,7 @@ public class ChatInboundInterceptor implements ChannelInterceptor {
 
         // SEND
         /**
-         * 1. 메세지를 보낼 수 있는(ChatRoom 에 존재하는) 채팅방인지 검사
-         *
-         * 2. 사용자가 구독한 채팅방(UserChatRoom 에 존재하는) 채팅방인지 검사
-         * - 이때 basketball chat 은 채팅방 접속 시 userChatRoom 에 추가 되므로 검증 하지 않음
-         * -  basketball chat 을 제외한 , direct/together/teamMatching chat 은 채팅방 생성 시점에
-         *    참여자들의 userChatRoom 에 추가하므로 사용자가 구독한 채팅방인지 검사함
-         *
-         * 3. 일반메세지 / 뒤로가기 메세지 인지 구분
+         * 일반메세지 / 뒤로가기 메세지 인지 구분
          * case1 : 일반메세지
          * 1. 일반 메세지는 메세지 파싱해서 전달
          * 2. 메세지 바디에 content 부분 메세지 저장
@@ -150,15 +239,6 @@ public class ChatInboundInterceptor implements ChannelInterceptor {
         if (StompCommand.SEND.equals(headerAccessor.getCommand())) {
             log.debug("=== SEND 진입 ===");
 
-            // 채팅방의 존재 여부 검증
-            stompHandler.isExistChatRoom(headerAccessor);
-            log.debug("=== 채팅방 존재 여부 검사 ===");
-
-            // client 가 destination 에 메세지를 보낼 수 있는지 검증(사용자 채팅방에 있는 채팅방인지)
-            stompHandler.isExistChatRoom(headerAccessor);
-            log.debug("=== 유저가 참여하고 있는 채팅방인지 검사 ===");
-
-
             // destination 가져오기
             String destination = headerAccessor.getDestination();
 
@@ -173,58 +253,63 @@ public class ChatInboundInterceptor implements ChannelInterceptor {
             // 채팅방의 마지막 메세지id 를 저장 == ReadIndex 업데이트
             if (destination.contains("back")) {
                 log.debug("=== SEND_BACK 진입 ===");
-                Messages lastMessageFromChatRoom = chatService.getLastMessageFromChatRoom(roomId);
-                chatService.saveReadIndex(userId, roomId, lastMessageFromChatRoom.getId());
-                log.debug("=== ReadIndex 저장 ===");
-
-                Optional<UserChatRoom> byUserChatroom = userChatRoomRepository.findByUserChatroom(userId, roomId);
-                if(byUserChatroom.isPresent()){
-                    UserChatRoom userChatRoom = byUserChatroom.get();
+                Long lastMessageId = chatService.getLastMessageId(roomId);
+                if (lastMessageId != null) {
+                    chatService.saveReadIndex(userId, roomId, lastMessageId);
+                    log.debug("=== ReadIndex 저장 ===");
                 }
+                // 채팅방 화면에서 나감
+                chatPresenceService.leaveRoom(headerAccessor.getSessionId(), roomId);
+            }
+
+
+            // 입력 중
+            if (destination.contains("typing")) {
+                chatPresenceService.typing(userId, roomId);
             }
 
 
             // 일반 메세지
             if (destination.contains("message")) {
                 log.debug("=== SEND_MESSAGE 진입 ===");
-                // 본문 바디 가져오기
-                String messageContent = new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
-
-                // 메시지의 페이로드(본문) 추출
-                String content = stompHandler.extractRoomContent(messageContent);
-                log.debug("=== extract message content:{}", content);
-
-                // 메시지 보낸 유저의 닉네임 추출
-                String nickname = stompHandler.extractNickname(messageContent);
-                log.debug("=== extract message nickname:{}", nickname);
-
-                // 메세지 보낸 유저의 아이디 추출
-                String uid = stompHandler.extractUserId(messageContent);
-                Long userid = Long.parseLong(uid);
-                log.debug("=== extract userId:{}",uid);
-
-                if (content != null) {
-                    ChatMessageDTO chatMessageDTO = ChatMessageDTO.builder()
-                            .roomId(roomId.toString())
-                            .senderId(userid)
-                            .content(content)
-                            .senderNickname(nickname)
-                            .timestamp(LocalDateTime.now().toString())
-                            .build();
-                    Long savedMsgId = chatService.saveMessage(chatMessageDTO);
-                    // 메세지 알림
-                    chatNotificationService.notificationMessage(savedMsgId,roomId,userId);
+                // 본문을 한 번만 파싱해서 보낸 유저의 아이디, 닉네임, 메세지 내용 추출
+                ChatMessageDTO chatMessageDTO = stompHandler.parseChatMessage((byte[]) message.getPayload());
+                log.debug("=== extract message content:{}, nickname:{}, userId:{}",
+                        chatMessageDTO.getContent(), chatMessageDTO.getSenderNickname(), chatMessageDTO.getSenderId());
+
+                if (chatMessageDTO.getContent() != null) {
+                    chatMessageDTO.setRoomId(roomId.toString());
+                    chatMessageDTO.setTimestamp(LocalDateTime.now().toString());
+                    // 메세지 알림은 DB 저장이 끝난 뒤 ChatMessageWriter 에서 처리
+                    Long messageId = chatService.saveMessage(chatMessageDTO);
+
+                    // 재전송(같은 clientMessageId)이면 채팅방에 다시 발행하지 않고 보낸 세션에만 확인 응답
+                    if (messageId == null) {
+                        chatMessageAckSender.acknowledge(headerAccessor.getSessionId(), userId.toString(), chatMessageDTO);
+                        return null;
+                    }
+                    // 처음 저장한 메세지도 clientMessageId 가 있으면 발급한 메세지 아이디로 확인 응답
+                    if (chatMessageDTO.getClientMessageId() != null) {
+                        chatMessageAckSender.acknowledge(headerAccessor.getSessionId(), userId.toString(), chatMessageDTO);
+                    }
+
+                    // 발급한 메세지 아이디와 작성 시간을 채워서 컨트롤러로 전달(구독자에게 그대로 발행)
+                    message = MessageBuilder.createMessage(
+                            stompHandler.withServerFields((byte[]) message.getPayload(), chatMessageDTO),
+                            message.getHeaders());
                 }
             }
             log.debug("=== 메세지 발송 완료 ===");
         }
 
 
+        // UNSUBSCRIBE
         /**
-         * 연결종료, CustomWebSocketHandler 에 의해 리소스 해제
+         * 채팅방 접속 상태 제거
+         * 연결 종료 시 채팅방 접속 상태는 ChatPresenceService 가 SessionDisconnectEvent 로 제거
          */
-        if (StompCommand.DISCONNECT.equals(headerAccessor.getCommand())) {
-            log.debug("===DISCONNECT===");
+        if (StompCommand.UNSUBSCRIBE.equals(headerAccessor.getCommand())) {
+            chatPresenceService.leave(headerAccessor.getSessionId(), headerAccessor.getSubscriptionId());
         }
 
         return message;
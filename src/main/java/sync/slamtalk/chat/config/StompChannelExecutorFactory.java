@@ -0,0 +1,127 @@
+package sync.slamtalk.chat.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.ToIntFunction;
+
+/**
+ * STOMP 채널 실행기 생성
+ *
+ * <p>clientInboundChannel / clientOutboundChannel / brokerChannel 의 스레드 풀 크기를
+ * chat.stomp.executor.{inbound|outbound|broker}.* 로 설정합니다.
+ * <ul>
+ *     <li>max-size, queue-capacity, keep-alive-seconds</li>
+ *     <li>스레드는 max-size 까지 먼저 늘어난 뒤에 대기열을 사용하고, keep-alive-seconds 동안 쉬는 스레드는 정리합니다.
+ *     (ThreadPoolExecutor 는 core 를 넘는 스레드를 대기열이 가득 찬 뒤에야 만들기 때문에 core 와 max 를 같게 두고 core 스레드도 정리)</li>
+ *     <li>inbound.virtual-threads=true 이면 인바운드 처리를 가상 스레드에서 실행합니다.(Java 21 이상)</li>
+ *     <li>broker 는 max-size 를 설정한 경우에만 별도 실행기를 사용하고, 기본은 호출한 스레드에서 바로 전달합니다.</li>
+ * </ul>
+ * 각 실행기는 chat.stomp.executor.* 지표(대기열 크기, 활성 스레드, 거부된 작업 수)를 채널 태그와 함께 노출합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompChannelExecutorFactory {
+
+    public static final String INBOUND = "inbound";
+    public static final String OUTBOUND = "outbound";
+    public static final String BROKER = "broker";
+
+    private static final int DEFAULT_MAX_SIZE = Runtime.getRuntime().availableProcessors() * 8;
+    private static final int DEFAULT_VIRTUAL_MAX_SIZE = 1024;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 채널 실행기 생성
+     *
+     * @param channel inbound, outbound, broker
+     * @return ThreadPoolTaskExecutor 설정하지 않은 broker 의 경우 null
+     */
+    public ThreadPoolTaskExecutor create(String channel) {
+        String prefix = "chat.stomp.executor." + channel + ".";
+        int maxSize = property(prefix + "max-size", BROKER.equals(channel) ? 0 : DEFAULT_MAX_SIZE);
+        if (maxSize <= 0) {
+            return null;
+        }
+        boolean virtualThreads = INBOUND.equals(channel)
+                && environment.getProperty(prefix + "virtual-threads", Boolean.class, false);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("stomp-" + channel + "-");
+        executor.setQueueCapacity(property(prefix + "queue-capacity", 10_000));
+        executor.setKeepAliveSeconds(property(prefix + "keep-alive-seconds", 60));
+
+        if (virtualThreads && applyVirtualThreads(executor, channel)) {
+            // 가상 스레드는 풀에 쌓아둘 이유가 없으므로 동시 실행 수만 제한하고 유휴 스레드는 바로 정리
+            maxSize = property(prefix + "max-size", DEFAULT_VIRTUAL_MAX_SIZE);
+            executor.setKeepAliveSeconds(1);
+        }
+        executor.setCorePoolSize(maxSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setAllowCoreThreadTimeOut(true);
+
+        Counter rejected = Counter.builder("chat.stomp.executor.rejected")
+                .description("STOMP 채널 실행기에서 거부된 작업 수")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("STOMP " + channel + " 채널 대기열 포화");
+        });
+
+        gauge("chat.stomp.executor.queue.size", "STOMP 채널 실행기 대기열 크기", channel, executor,
+                pool -> pool.getQueue().size());
+        gauge("chat.stomp.executor.active", "STOMP 채널 실행기 활성 스레드 수", channel, executor,
+                ThreadPoolExecutor::getActiveCount);
+        gauge("chat.stomp.executor.pool.size", "STOMP 채널 실행기 스레드 수", channel, executor,
+                ThreadPoolExecutor::getPoolSize);
+
+        log.info("=== STOMP {} 채널 실행기 : core={}, max={}, virtual={} ===",
+                channel, executor.getCorePoolSize(), executor.getMaxPoolSize(), virtualThreads);
+        return executor;
+    }
+
+
+    private boolean applyVirtualThreads(ThreadPoolTaskExecutor executor, String channel) {
+        try {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("stomp-" + channel + "-v-").getVirtualThreadFactory());
+            return true;
+        } catch (UnsupportedOperationException e) {
+            log.warn("=== 가상 스레드를 지원하지 않는 JVM - STOMP {} 채널은 플랫폼 스레드 사용 ===", channel);
+            return false;
+        }
+    }
+
+
+    // 실행기는 채널 설정이 끝난 뒤 초기화되므로 초기화 전에는 0
+    private void gauge(String name, String description, String channel, ThreadPoolTaskExecutor executor,
+                       ToIntFunction<ThreadPoolExecutor> value) {
+        Gauge.builder(name, executor, e -> {
+                    try {
+                        return value.applyAsInt(e.getThreadPoolExecutor());
+                    } catch (IllegalStateException notInitialized) {
+                        return 0;
+                    }
+                })
+                .description(description)
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+
+
+    private int property(String key, int defaultValue) {
+        return environment.getProperty(key, Integer.class, defaultValue);
+    }
+}
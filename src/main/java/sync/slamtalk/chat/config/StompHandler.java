@@ -1,17 +1,26 @@
 package sync.slamtalk.chat.config;
 
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Service;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.entity.ChatRoom;
+import sync.slamtalk.chat.entity.RoomType;
 import sync.slamtalk.chat.entity.UserChatRoom;
 import sync.slamtalk.chat.repository.UserChatRoomRepository;
+import sync.slamtalk.chat.service.ChatRoomAccessCache;
 import sync.slamtalk.chat.service.ChatServiceImpl;
 import sync.slamtalk.security.jwt.JwtTokenProvider;
+import sync.slamtalk.security.jwt.StompPrincipal;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -25,43 +34,42 @@ public class StompHandler {
     private final JwtTokenProvider tokenProvider;
     private final UserChatRoomRepository userChatRoomRepository;
     private final ObjectMapper objectMapper;
+    private final ChatRoomAccessCache chatRoomAccessCache;
 
     /**
      * 토큰에서 아이디 추출
+     * CONNECT 때 세션에 저장한 인증 정보가 있으면 토큰을 다시 검증하지 않음
      */
     public Long extractUserId(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof StompPrincipal principal) {
+            return principal.userId();
+        }
         List<String> authorization = accessor.getNativeHeader("authorization");
         String token = authorization.get(0);
         return tokenProvider.stompExtractUserIdFromToken(token);
     }
 
-    /**
-     * 채팅 유저 아이디 추출
-     */
-    public String extractUserId(String json) {
-        try{
-            JsonNode jsonNode = objectMapper.readTree(json);
-            if(jsonNode.has("senderId")) {
-                return jsonNode.get("senderId").toString();
-            }
-        }catch (Exception e){
-            throw new RuntimeException(e.getMessage());
-        }
-        return null;
-    }
-
 
     /**
      * 채팅방 존재하는지 검증하는 실질적인 메서드
+     * @return 채팅방 타입
      */
-    public void isExistChatRoom(StompHeaderAccessor accessor) {
+    public RoomType isExistChatRoom(StompHeaderAccessor accessor) {
         String destination = accessor.getDestination();
         Long roomId = extractRoomId(Objects.requireNonNull(destination));
+
+        RoomType cached = chatRoomAccessCache.getRoomType(roomId);
+        if (cached != null) {
+            return cached;
+        }
+
         // ChatRoom 이 존재하지 않는다면
-        chatService.isExistChatRoom(roomId).orElseThrow(()->{
+        ChatRoom chatRoom = chatService.isExistChatRoom(roomId).orElseThrow(()->{
             log.debug("=== isExistChatRoom === ChatRoom 존재하지않음");
             throw new RuntimeException("NFR");
         });
+        chatRoomAccessCache.putRoom(roomId, chatRoom.getRoomType());
+        return chatRoom.getRoomType();
     }
 
 
@@ -76,9 +84,8 @@ public class StompHandler {
         String destination = accessor.getDestination();
         Long roomId = extractRoomId(Objects.requireNonNull(destination));
 
-        Optional<UserChatRoom> existUserChatRoom = chatService.isExistUserChatRoom(userId, roomId);
         // UserChatRoom 이 존재하지 않는다면
-        if (existUserChatRoom.isEmpty()) {
+        if (isExistAlreadyUserChatRoom(userId, roomId).isEmpty()) {
             throw new RuntimeException("Auth");
         }
     }
@@ -103,53 +110,105 @@ public class StompHandler {
 
 
     /**
-     * 채팅 콘텐츠 추출
+     * SEND 메세지 본문 파싱
+     *
+     * <p>본문을 트리로 만들지 않고 스트리밍 파서로 한 번만 읽어 senderId, senderNickname, content, clientMessageId 를 추출합니다.
+     * 닉네임과 내용은 기존과 같이 JSON 표현 그대로(문자열이면 따옴표 포함) 저장합니다.
+     *
+     * @param payload SEND 프레임 본문(UTF-8 JSON)
+     * @return ChatMessageDTO senderId/senderNickname/content/clientMessageId 만 채워진 메세지, 없는 필드는 null
      */
-    public String extractRoomContent(String json) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(json);
-            if (rootNode.has("content")) {
-                return rootNode.get("content").toString();
+    public ChatMessageDTO parseChatMessage(byte[] payload) {
+        Long senderId = null;
+        String senderNickname = null;
+        String content = null;
+        String clientMessageId = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Invalid message payload");
             }
-        } catch (Exception e) {
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "senderId" -> senderId = readSenderId(parser, value);
+                    case "senderNickname" -> senderNickname = readJsonLiteral(parser, value);
+                    case "content" -> content = readJsonLiteral(parser, value);
+                    case "clientMessageId" -> clientMessageId = readClientMessageId(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
             throw new RuntimeException(e.getMessage());
         }
-        return null;
+        if (senderId == null) {
+            throw new RuntimeException("Invalid senderId");
+        }
+
+        return ChatMessageDTO.builder()
+                .senderId(senderId)
+                .senderNickname(senderNickname)
+                .content(content)
+                .clientMessageId(clientMessageId)
+                .build();
     }
 
 
     /**
-     * 채팅 닉네임 추출
+     * 클라이언트가 보낸 본문에 서버가 발급한 메세지 아이디, 채팅방 아이디, 작성 시간을 채운다.
+     * 나머지 필드는 보낸 그대로 유지합니다.
+     *
+     * @param payload SEND 프레임 본문(UTF-8 JSON)
+     * @param saved   저장된 메세지
+     * @return 구독자에게 발행할 본문
      */
-    public String extractNickname(String json) {
+    public byte[] withServerFields(byte[] payload, ChatMessageDTO saved) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(json);
-            if (rootNode.has("senderNickname")) {
-                return rootNode.get("senderNickname").toString();
-            }
-        } catch (Exception e) {
+            ObjectNode node = (ObjectNode) objectMapper.readTree(payload);
+            node.put("messageId", saved.getMessageId());
+            node.put("roomId", saved.getRoomId());
+            node.put("timestamp", saved.getTimestamp());
+            return objectMapper.writeValueAsBytes(node);
+        } catch (IOException e) {
             throw new RuntimeException(e.getMessage());
         }
+    }
+
+
+    private static Long readSenderId(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            return Long.parseLong(parser.getText());
+        }
+        throw new RuntimeException("Invalid senderId");
+    }
+
+
+    // 문자열/숫자만 허용하고 나머지는 무시
+    private static String readClientMessageId(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING || value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getText();
+        }
+        parser.skipChildren();
         return null;
     }
 
 
     /**
-     * 방문 체크 추출
+     * 현재 값을 JSON 표현 그대로 반환(JsonNode.toString() 과 같은 형식)
      */
-    public String extractVisited(String json) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(json);
-            if (rootNode.has("visited")) {
-                return rootNode.get("visited").toString();
+    private static String readJsonLiteral(JsonParser parser, JsonToken value) throws IOException {
+        return switch (value) {
+            case VALUE_STRING -> {
+                char[] escaped = JsonStringEncoder.getInstance().quoteAsString(parser.getText());
+                yield new StringBuilder(escaped.length + 2).append('"').append(escaped).append('"').toString();
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage());
-        }
-        return null;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT, VALUE_TRUE, VALUE_FALSE, VALUE_NULL -> parser.getText();
+            default -> parser.readValueAsTree().toString();
+        };
     }
 
 
@@ -167,14 +226,19 @@ public class StompHandler {
 
 
     /**
-     * 사용자 채팅방에 이미 참여하고 있는 농구장인지 확인
+     * 사용자 채팅방에 이미 참여하고 있는 채팅방인지 확인
      */
     public Optional<Boolean> isExistAlreadyUserChatRoom(Long userId, Long roomId) {
 
-        Optional<UserChatRoom> optionalUserChatRoom = userChatRoomRepository.findByUserChatroom(userId, roomId);
+        if (chatRoomAccessCache.isMember(userId, roomId)) {
+            return Optional.of(Boolean.TRUE);
+        }
+
+        Optional<UserChatRoom> optionalUserChatRoom = userChatRoomRepository.findActiveByUserChatroom(userId, roomId);
 
         if (optionalUserChatRoom.isPresent()) {
             log.debug("유저가 이미 가지고 있음");
+            chatRoomAccessCache.putMember(userId, roomId);
             return Optional.of(Boolean.TRUE);
         }
         log.debug("유저가 가지고 있지 않음");
@@ -0,0 +1,102 @@
+package sync.slamtalk.chat.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import sync.slamtalk.security.jwt.StompPrincipal;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 웹소켓 세션 관리
+ *
+ * <p>프레임마다 토큰을 검증하지 않는 대신, CONNECT 때 저장한 토큰 만료 시각을 주기적으로 확인해
+ * 만료된 세션을 종료합니다.
+ */
+@Slf4j
+@Component
+public class StompSessionRegistry {
+
+    // 토큰 만료로 종료되는 세션의 종료 코드
+    public static final CloseStatus TOKEN_EXPIRED = new CloseStatus(4001, "JWT expired");
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, StompPrincipal> principals = new ConcurrentHashMap<>();
+    private final Counter slowConsumerDisconnects;
+
+    public StompSessionRegistry(MeterRegistry meterRegistry) {
+        this.slowConsumerDisconnects = Counter.builder("chat.websocket.slow-consumer.disconnects")
+                .description("전송 시간/버퍼 제한을 넘어 종료된 웹소켓 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.sessions", sessions, Map::size)
+                .description("연결된 웹소켓 세션 수")
+                .register(meterRegistry);
+    }
+
+    public void register(WebSocketSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    /**
+     * CONNECT 에서 인증된 사용자를 세션에 연결
+     */
+    public void authenticate(String sessionId, StompPrincipal principal) {
+        principals.put(sessionId, principal);
+    }
+
+    /**
+     * 세션 종료
+     * 전송 제한(sendTimeLimit, sendBufferSizeLimit)을 넘어 종료된 경우 느린 소비자로 기록
+     * SESSION_NOT_RELIABLE 은 CONNECT 를 제한 시간 안에 보내지 않은 세션을 종료할 때도 사용되므로,
+     * CONNECT 가 끝난(인증된) 세션만 느린 소비자로 기록
+     */
+    public void unregister(String sessionId, CloseStatus closeStatus) {
+        sessions.remove(sessionId);
+        StompPrincipal principal = principals.remove(sessionId);
+        if (!CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+            return;
+        }
+        if (principal == null) {
+            log.debug("CONNECT 없이 웹소켓 연결 종료 : {}", sessionId);
+            return;
+        }
+        slowConsumerDisconnects.increment();
+        log.warn("=== 느린 소비자로 웹소켓 연결 종료 : {}, userId : {} ===", sessionId, principal.userId());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 토큰이 만료된 세션 종료
+     */
+    @Scheduled(fixedDelayString = "${chat.session.expiry-check-ms:30000}")
+    public void closeExpiredSessions() {
+        Instant now = Instant.now();
+        principals.forEach((sessionId, principal) -> {
+            if (!principal.isExpired(now)) {
+                return;
+            }
+            WebSocketSession session = sessions.get(sessionId);
+            principals.remove(sessionId);
+            if (session == null || !session.isOpen()) {
+                return;
+            }
+            try {
+                log.debug("토큰 만료로 웹소켓 연결 종료 : {}, userId : {}", sessionId, principal.userId());
+                session.close(TOKEN_EXPIRED);
+            } catch (IOException e) {
+                log.warn("만료된 웹소켓 세션 종료 실패 : {}", sessionId, e);
+            }
+        });
+    }
+}
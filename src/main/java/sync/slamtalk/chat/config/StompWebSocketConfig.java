@@ -2,13 +2,19 @@ package sync.slamtalk.chat.config;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+import sync.slamtalk.chat.redis.ChatBrokerRelay;
 
 
 @Slf4j
@@ -19,6 +25,16 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final ChatInboundInterceptor chatInboundInterceptor;
     private final StompErrorHandler stompErrorHandler;
+    private final StompSessionRegistry stompSessionRegistry;
+    private final ObjectProvider<ChatBrokerRelay> chatBrokerRelay; // chat.broker.mode=redis 인 경우에만 존재
+    private final StompChannelExecutorFactory stompChannelExecutorFactory;
+
+    @Value("${chat.websocket.send-time-limit-ms:5000}")
+    private int sendTimeLimit;
+    @Value("${chat.websocket.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+    @Value("${chat.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
 
     // webSocket 접속 경로 설정
     @Override
@@ -27,6 +43,8 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOrigins("*");
         //.withSockJS(); // 사용시 /websocket 붙여서 테스트
         registry.setErrorHandler(stompErrorHandler);
+        // 인바운드 처리가 실행기 스레드에서 이루어지므로 세션별 프레임 순서(SUBSCRIBE -> SEND -> UNSUBSCRIBE)를 유지
+        registry.setPreserveReceiveOrder(true);
     }
 
 
@@ -35,19 +53,50 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/pub"); // "/pub" 가 경로상에 있으면 <<컨트롤러>> 호출
         registry.enableSimpleBroker("/sub"); // "/subscribe" 가 경로상에 있으면 <<메세지브로커>> 호출
+
+        // 여러 서버로 실행하는 경우 Redis 로 다른 서버의 구독자에게도 전달
+        chatBrokerRelay.ifAvailable(relay -> registry.configureBrokerChannel().interceptors(relay));
+
+        ThreadPoolTaskExecutor brokerExecutor = stompChannelExecutorFactory.create(StompChannelExecutorFactory.BROKER);
+        if (brokerExecutor != null) {
+            registry.configureBrokerChannel().taskExecutor(brokerExecutor);
+        }
     }
 
 
-    // client 요청 검증 수행
+    // client 요청 검증(전송 스레드)과 처리(인바운드 실행기 스레드) 수행
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(chatInboundInterceptor);
+        // 인터셉터의 beforeHandle 에서 Redis/DB 쓰기를 하므로 스레드 풀 크기를 설정으로 조정
+        registration.taskExecutor(stompChannelExecutorFactory.create(StompChannelExecutorFactory.INBOUND));
+    }
+
+
+    // 구독자에게 메세지 전송
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(stompChannelExecutorFactory.create(StompChannelExecutorFactory.OUTBOUND));
     }
 
 
     // WebSocket ErrorHandler -> WebSocket
+    // 전송이 send-time-limit 이상 걸리거나 전송 대기 버퍼가 send-buffer-size-limit 를 넘으면 해당 세션만 종료(SESSION_NOT_RELIABLE)
     @Override
     public void configureWebSocketTransport(WebSocketTransportRegistration registry) {
-        registry.addDecoratorFactory(webSocketHandler -> new WebsocketDisconnectHandlerDecorator(webSocketHandler));
+        registry.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+        registry.addDecoratorFactory(webSocketHandler -> new WebsocketDisconnectHandlerDecorator(webSocketHandler, stompSessionRegistry));
+    }
+
+
+    // 부분 메세지를 받지 않으므로 컨테이너 수신 버퍼도 STOMP 메세지 크기 제한에 맞춤
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(messageSizeLimit);
+        container.setMaxBinaryMessageBufferSize(messageSizeLimit);
+        return container;
     }
 }
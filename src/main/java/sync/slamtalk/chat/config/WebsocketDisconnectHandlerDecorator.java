@@ -13,15 +13,18 @@ import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 @Component
 public class WebsocketDisconnectHandlerDecorator extends WebSocketHandlerDecorator {
     private final WebSocketHandler delegate;
+    private final StompSessionRegistry sessionRegistry;
 
-    public WebsocketDisconnectHandlerDecorator(WebSocketHandler delegate) {
+    public WebsocketDisconnectHandlerDecorator(WebSocketHandler delegate, StompSessionRegistry sessionRegistry) {
         super(delegate);
         this.delegate = delegate;
+        this.sessionRegistry = sessionRegistry;
     }
 
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        sessionRegistry.register(session);
         super.afterConnectionEstablished(session);
 
     }
@@ -47,6 +50,7 @@ public class WebsocketDisconnectHandlerDecorator extends WebSocketHandlerDecorat
     public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
         //super.afterConnectionClosed(session,closeStatus);
         log.debug("웹 소켓 연결 종료");
+        sessionRegistry.unregister(session.getId(), closeStatus);
 
 
         try {
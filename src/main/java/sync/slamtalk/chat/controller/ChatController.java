@@ -11,7 +11,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 import sync.slamtalk.chat.dto.request.ChatCreateDTO;
 import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.dto.request.ChatSyncDTO;
 import sync.slamtalk.chat.dto.response.ChatRoomDTO;
+import sync.slamtalk.chat.dto.response.ChatSyncRoomDTO;
 import sync.slamtalk.chat.entity.UserChatRoom;
 import sync.slamtalk.chat.service.ChatServiceImpl;
 import sync.slamtalk.common.ApiResponse;
@@ -100,6 +102,20 @@ public class ChatController {
     }
 
 
+    /**
+     * 재접속 시 여러 채팅방의 새 메세지 동기화
+     */
+    @PostMapping("/api/chat/sync")
+    @Operation(
+            summary = "채팅방 새 메세지 동기화",
+            description = "이 기능은 채팅방별로 마지막으로 받은 메세지 이후에 발생한 메세지를 한 번에 보내주는 기능입니다.",
+            tags = {"채팅"}
+    )
+    public ApiResponse<List<ChatSyncRoomDTO>> syncChatMessages(@RequestBody ChatSyncDTO dto, @AuthenticationPrincipal Long userId) {
+        return ApiResponse.ok(chatService.syncMessages(userId, dto.getRooms()));
+    }
+
+
     /**
      * 제보하기를 통한 농구장 채팅방 생성 요청
      */
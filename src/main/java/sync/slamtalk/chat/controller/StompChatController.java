@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import sync.slamtalk.chat.dto.request.ChatMessageDTO;
 import sync.slamtalk.chat.entity.UserChatRoom;
 import sync.slamtalk.chat.repository.UserChatRoomRepository;
+import sync.slamtalk.chat.service.ChatRoomAccessCache;
 import sync.slamtalk.chat.service.ChatServiceImpl;
 
 import java.util.Optional;
@@ -20,6 +21,7 @@ import java.util.Optional;
 public class StompChatController {
     private final ChatServiceImpl chatService;
     private final UserChatRoomRepository userChatRoomRepository;
+    private final ChatRoomAccessCache chatRoomAccessCache;
 
     /**
      * 입장/퇴장 메세지 발행
@@ -51,6 +53,7 @@ public class StompChatController {
                     log.debug("{}번 유저가 {}번째 채팅방에서 나가기를 시도", userId, optionalUserChatRoom.get().getChat().getId());
                     UserChatRoom userChatRoom = optionalUserChatRoom.get();
                     userChatRoom.delete(); // softDelete
+                    chatRoomAccessCache.evictMember(userId, roomId);
                 }
 
                 return message.getSenderNickname() + " 님이 퇴장하셨습니다.";
@@ -75,12 +78,11 @@ public class StompChatController {
      * 메세지 발행
      * "/pub/chat/message" 로 날린 데이터에 대해서
      * "/sub/chat/room/roomId" 로 구독자들(클라이언트)에게 해당 message 를 전달
+     * 메세지 저장은 ChatInboundInterceptor 에서 처리하고, 발급된 messageId/timestamp 가 채워진 메세지가 전달됨
      */
     @MessageMapping("/chat/message/{roomId}")
     @SendTo("/sub/chat/room/{roomId}")
     public ChatMessageDTO message(ChatMessageDTO message) {
-        // TODO
-        // chatService.saveMessage(message);
         return message;
     }
 
@@ -17,6 +17,8 @@ public enum ChatErrorResponseCode implements ResponseCodeDetails {
     CHAT_ROOM_EXIST_ALREADY(SC_BAD_REQUEST, 4034, "ChatRoom Exist Alradey"),
 
     CHAT_ROOM_NO_HISTORY_YET(SC_NOT_FOUND, 4035, "ChatRoom History Not Found"),
+
+    CHAT_SYNC_TOO_MANY_ROOMS(SC_BAD_REQUEST, 4036, "Too Many ChatRooms To Sync"),
     ;
 
 
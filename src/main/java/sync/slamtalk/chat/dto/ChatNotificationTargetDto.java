@@ -0,0 +1,20 @@
+package sync.slamtalk.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채팅 알림 대상 조회용 프로젝션
+ * 읽지 않은 채팅 알림이 없는 사용자 채팅방
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatNotificationTargetDto {
+
+    private Long userChatRoomId;
+    private Long userId;
+    private Long roomId;
+    private Long readIndex;
+}
@@ -0,0 +1,33 @@
+package sync.slamtalk.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import sync.slamtalk.chat.entity.RoomType;
+
+/**
+ * 채팅 리스트 조회용 프로젝션
+ * 사용자 채팅방, 상대방 프로필, 마지막 메세지를 한 번에 조회한 결과
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnrefinedChatRoomDto {
+
+    private Long userChatRoomId;
+    private Long roomId;
+    private RoomType roomType;
+    private String name;
+    private Long courtId;
+    private Long togetherId;
+    private Long teamMatchingId;
+    private Long readIndex;
+
+    private Long partnerId;
+    private String partnerNickname;
+    private String partnerImageUrl;
+
+    private Long lastMessageId;
+    private String lastMessageContent;
+    private String lastMessageTime;
+}
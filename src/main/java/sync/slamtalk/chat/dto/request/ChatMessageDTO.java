@@ -28,6 +28,8 @@ public class ChatMessageDTO implements Serializable {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private String timestamp; // 메세지를 보낸 시간
 
+    private String clientMessageId; // 클라이언트가 발급한 메세지 아이디(선택), 재전송 중복 제거용
+
     @Override
     public int hashCode() {
         return Objects.hash(messageId);
@@ -0,0 +1,15 @@
+package sync.slamtalk.chat.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatSyncDTO implements Serializable {
+    private Map<Long, Long> rooms; // 채팅방 아이디, 마지막으로 받은 메세지 아이디(없으면 null)
+}
@@ -0,0 +1,32 @@
+package sync.slamtalk.chat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 채팅방 접속 상태 변경(/sub/chat/presence/{roomId})
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatPresenceDTO implements Serializable {
+    // 채팅방 고유 아이디
+    private String roomId;
+    // 상태가 바뀐 사용자 아이디
+    private Long userId;
+    // 변경 종류
+    private PresenceType type;
+    // 변경 시각
+    private String timestamp;
+
+    public enum PresenceType {
+        JOIN, // 채팅방 입장
+        LEAVE, // 채팅방 퇴장(구독 해제, 뒤로 가기, 연결 종료, 응답 없음)
+        TYPING // 입력 중
+    }
+}
@@ -0,0 +1,23 @@
+package sync.slamtalk.chat.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatSyncRoomDTO implements Serializable {
+    // 채팅방 고유 아이디
+    private String roomId;
+    // 마지막으로 받은 메세지 이후의 메세지(오래된 순)
+    private List<ChatMessageDTO> messages;
+    // 더 가져올 메세지가 있는지(마지막 메세지 아이디로 다시 요청)
+    private boolean hasMore;
+}
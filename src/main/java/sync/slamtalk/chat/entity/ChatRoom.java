@@ -49,6 +49,21 @@ public class ChatRoom extends BaseEntity {
     private Long teamMatchingId;
 
 
+    // 마지막 메세지(채팅 리스트 조회용 스냅샷)
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+
+    // 마지막 메세지 내용
+    @Column(name = "last_message_content")
+    private String lastMessageContent;
+
+
+    // 마지막 메세지 작성시간
+    @Column(name = "last_message_time")
+    private String lastMessageTime;
+
+
     // 사용자는 여러개의 채팅방을 가질 수 있음
     @OneToMany(mappedBy = "chat", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<UserChatRoom> userChats = new HashSet<>();
@@ -0,0 +1,46 @@
+package sync.slamtalk.chat.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 보관(cold) 메세지
+ *
+ * <p>chat.archive.age-days 보다 오래된 메세지를 messages 테이블에서 옮겨 보관합니다.
+ * 조회 전용이므로 연관 관계와 생성/수정 시각 컬럼 없이 메세지 내용만 저장합니다.
+ * archive_month(yyyyMM) 로 채팅방별, 월별 구간을 나눌 수 있습니다.
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "messages_archive", indexes = {
+        // 채팅방별 메세지 아이디 역순 keyset 조회용
+        @Index(name = "idx_messages_archive_chatroom_message", columnList = "chatroom_id, message_id DESC"),
+        @Index(name = "idx_messages_archive_month", columnList = "archive_month")
+})
+public class MessageArchive {
+    @Id
+    @Column(name = "message_id", nullable = false)
+    private Long id; // messages 테이블의 메세지 아이디 그대로
+
+    @Column(name = "chatroom_id", nullable = false)
+    private Long chatRoomId;
+
+    @Column(name = "sender_id")
+    private Long senderId;
+
+    @Column(name = "sender_nickname")
+    private String senderNickname;
+
+    @Column(name = "content")
+    private String content;
+
+    @Column(name = "creation_time", nullable = false)
+    private String creationTime;
+
+    // 메세지 작성 월(yyyyMM)
+    @Column(name = "archive_month", nullable = false)
+    private Integer archiveMonth;
+}
@@ -0,0 +1,19 @@
+package sync.slamtalk.chat.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import sync.slamtalk.chat.service.MessageIdGenerator;
+
+/**
+ * Messages 식별자 생성기
+ *
+ * <p>IDENTITY 대신 MessageIdGenerator 로 아이디를 미리 발급해
+ * insert 전에 아이디를 알 수 있고, JDBC batch insert 가 가능해집니다.
+ */
+public class MessageIdentifierGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return MessageIdGenerator.shared().nextId();
+    }
+}
@@ -3,6 +3,7 @@ package sync.slamtalk.chat.entity;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 import sync.slamtalk.common.BaseEntity;
 
 @Entity
@@ -10,10 +11,14 @@ import sync.slamtalk.common.BaseEntity;
 @Builder
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // 채팅방별 메세지 아이디 역순 keyset 조회용
+        @Index(name = "idx_messages_chatroom_message", columnList = "chatroom_id, message_id DESC")
+})
 public class Messages extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "message_id_generator")
+    @GenericGenerator(name = "message_id_generator", type = MessageIdentifierGenerator.class)
     @Column(name = "message_id", nullable = false)
     private Long id; // 식별 아이디
 
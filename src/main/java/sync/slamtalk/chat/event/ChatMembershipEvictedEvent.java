@@ -0,0 +1,4 @@
+package sync.slamtalk.chat.event;
+
+public record ChatMembershipEvictedEvent(Long userId, Long roomId) {
+}
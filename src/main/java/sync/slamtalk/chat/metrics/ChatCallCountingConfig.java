@@ -0,0 +1,129 @@
+package sync.slamtalk.chat.metrics;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 프레임별 DB/Redis 호출 수 측정 훅
+ *
+ * <p>DataSource 는 커넥션에서 Statement 를 만들 때마다, Lettuce 는 명령을 보낼 때마다
+ * 현재 스레드의 {@link ChatCallScope} 에 호출 수를 더합니다.
+ * JPA, QueryDSL, JdbcTemplate, RedisTemplate 모두 이 경로를 지나므로 호출하는 쪽 코드는 바꾸지 않습니다.
+ * 모든 커넥션과 Redis 명령에 훅이 걸리므로 기본은 꺼져 있고, 부하 테스트나 분석 시 chat.metrics.call-count.enabled=true 로 켭니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "chat.metrics.call-count.enabled", havingValue = "true")
+public class ChatCallCountingConfig {
+
+    @Bean
+    public static BeanPostProcessor chatCallCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                if (bean instanceof LettuceConnectionFactory connectionFactory) {
+                    registerCommandListener(connectionFactory);
+                }
+                return bean;
+            }
+        };
+    }
+
+
+    private static void registerCommandListener(LettuceConnectionFactory connectionFactory) {
+        try {
+            AbstractRedisClient client = connectionFactory.getNativeClient();
+            if (client == null) {
+                log.warn("=== Redis 호출 수 측정 불가 : 클라이언트 없음 ===");
+                return;
+            }
+            client.addListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    ChatCallScope.recordRedisCall();
+                }
+            });
+        } catch (Exception e) {
+            log.warn("=== Redis 호출 수 측정 불가 : {} ===", e.getMessage());
+        }
+    }
+
+
+    /**
+     * Statement 생성 수를 세는 DataSource
+     * 프레임 범위와 관계없이 전체 생성 수도 누적합니다(부하 테스트의 DB Statement 수).
+     * 원래 DataSource(HikariCP)의 종료는 close 로 위임합니다.
+     */
+    public static class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        private final LongAdder statements = new LongAdder();
+
+        CountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        /**
+         * 지금까지 만든 Statement 수
+         */
+        public long getStatementCount() {
+            return statements.sum();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+
+        private Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("equals")) {
+                            return proxy == args[0];
+                        }
+                        if (name.equals("hashCode")) {
+                            return System.identityHashCode(proxy);
+                        }
+                        if (name.startsWith("prepare") || name.equals("createStatement")) {
+                            statements.increment();
+                            ChatCallScope.recordDbCall();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package sync.slamtalk.chat.metrics;
+
+/**
+ * STOMP 프레임 하나를 처리하는 동안 발생한 DB/Redis 호출 수
+ *
+ * <p>프레임 처리 스레드에 범위를 열어 두면 {@link ChatCallCountingConfig} 가 등록한
+ * DataSource/Lettuce 훅이 호출 수를 더합니다. 범위 밖(write-behind 등 다른 스레드)의 호출은 세지 않습니다.
+ */
+public final class ChatCallScope {
+
+    private static final ThreadLocal<Calls> CURRENT = new ThreadLocal<>();
+
+    private ChatCallScope() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new Calls());
+    }
+
+    /**
+     * 범위를 닫고 그동안의 호출 수 반환
+     */
+    public static Calls end() {
+        Calls calls = CURRENT.get();
+        CURRENT.remove();
+        return calls != null ? calls : new Calls();
+    }
+
+    static void recordDbCall() {
+        Calls calls = CURRENT.get();
+        if (calls != null) {
+            calls.db++;
+        }
+    }
+
+    static void recordRedisCall() {
+        Calls calls = CURRENT.get();
+        if (calls != null) {
+            calls.redis++;
+        }
+    }
+
+    public static final class Calls {
+        private int db;
+        private int redis;
+
+        public int db() {
+            return db;
+        }
+
+        public int redis() {
+            return redis;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package sync.slamtalk.chat.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.chat.service.ChatRoomAccessCache;
+import sync.slamtalk.common.metrics.SpaceSavingTopK;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메세지가 많은 채팅방 조회(/actuator/chathotrooms)
+ *
+ * <p>메세지 수는 Space-Saving 추정값이며 chat.metrics.hot-rooms.decay-ms 마다 절반으로 줄어듭니다.
+ * 공개 여부는 management.endpoints.web.exposure.include 로 설정합니다.
+ * 엔드포인트 아이디에는 '-' 를 쓸 수 없으므로, 다른 경로가 필요하면
+ * management.endpoints.web.path-mapping.chathotrooms=chat-hotrooms 처럼 경로만 바꿉니다.
+ */
+@Component
+@Endpoint(id = "chathotrooms")
+@RequiredArgsConstructor
+public class ChatHotRoomsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final ChatMetrics chatMetrics;
+    private final ChatRoomAccessCache chatRoomAccessCache;
+
+    @ReadOperation
+    public List<HotRoom> hotRooms(@Nullable Integer limit) {
+        List<SpaceSavingTopK.Entry<Long>> entries = chatMetrics.getHotRooms(limit != null ? limit : DEFAULT_LIMIT);
+        Map<Long, Integer> subscribers = chatMetrics.getRoomSubscriberCounts();
+
+        List<HotRoom> hotRooms = new ArrayList<>(entries.size());
+        for (SpaceSavingTopK.Entry<Long> entry : entries) {
+            RoomType roomType = chatRoomAccessCache.getRoomType(entry.key());
+            hotRooms.add(new HotRoom(entry.key(),
+                    roomType != null ? roomType.name() : null,
+                    entry.count(),
+                    entry.error(),
+                    subscribers.getOrDefault(entry.key(), 0)));
+        }
+        return hotRooms;
+    }
+
+    /**
+     * @param roomId      채팅방 아이디
+     * @param roomType    채팅방 타입(캐시에 없으면 null)
+     * @param messages    추정 메세지 수
+     * @param error       추정 메세지 수의 최대 오차
+     * @param subscribers 이 서버의 메세지 구독 수
+     */
+    public record HotRoom(Long roomId, String roomType, long messages, long error, int subscribers) {
+    }
+}
@@ -0,0 +1,179 @@
+package sync.slamtalk.chat.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.common.metrics.SpaceSavingTopK;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 지표
+ *
+ * <ul>
+ *     <li>chat.stomp.frame : STOMP 명령(CONNECT/SUBSCRIBE/SEND ...)과 단계별 인바운드 처리 시간
+ *     (stage=validate : 전송 스레드의 검증, stage=handle : 인바운드 실행기 스레드의 처리)</li>
+ *     <li>chat.stomp.frame.db.calls, chat.stomp.frame.redis.calls : 프레임 하나를 처리하는 동안의 DB/Redis 호출 수
+ *     (chat.metrics.call-count.enabled=true 인 경우에만 기록)</li>
+ *     <li>chat.messages : 채팅방 타입별 메세지 수(초당 메세지 수는 rate 로 계산)</li>
+ *     <li>chat.message.save : 메세지 저장(아이디 발급 + Redis 저장 + write-behind 등록) 시간</li>
+ *     <li>chat.messages.duplicates : clientMessageId 로 걸러낸 재전송 메세지 수</li>
+ *     <li>chat.subscriptions : 구독 경로 종류별 구독 수</li>
+ * </ul>
+ * 채팅방 아이디는 태그로 쓰지 않고 {@link SpaceSavingTopK} 로 상위 채팅방만 추적합니다(/actuator/chathotrooms).
+ */
+@Component
+public class ChatMetrics {
+
+    // 구독 경로 종류(chat.subscriptions 의 destination 태그)
+    private static final List<String> DESTINATION_KINDS = List.of("room", "bot", "back", "presence");
+    private static final String DESTINATION_PREFIX = "/sub/chat/";
+
+    // 인바운드 처리 단계(chat.stomp.frame 의 stage 태그)
+    public static final String STAGE_VALIDATE = "validate";
+    public static final String STAGE_HANDLE = "handle";
+
+    private final MeterRegistry meterRegistry;
+    private final SimpUserRegistry simpUserRegistry;
+    private final SpaceSavingTopK<Long> hotRooms;
+    // 호출 수 측정 훅(ChatCallCountingConfig) 사용 여부
+    private final boolean callCountEnabled;
+
+    // 메세지 브로커 설정이 인터셉터를 통해 이 빈을 참조하므로 사용자 레지스트리는 지연 주입
+    public ChatMetrics(MeterRegistry meterRegistry,
+                       @Lazy SimpUserRegistry simpUserRegistry,
+                       @Value("${chat.metrics.hot-rooms.capacity:200}") int hotRoomsCapacity,
+                       @Value("${chat.metrics.call-count.enabled:false}") boolean callCountEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.simpUserRegistry = simpUserRegistry;
+        this.hotRooms = new SpaceSavingTopK<>(hotRoomsCapacity);
+        this.callCountEnabled = callCountEnabled;
+
+        for (String kind : DESTINATION_KINDS) {
+            String prefix = DESTINATION_PREFIX + kind + "/";
+            Gauge.builder("chat.subscriptions", () -> countSubscriptions(prefix))
+                    .description("구독 경로 종류별 구독 수")
+                    .tag("destination", kind)
+                    .register(meterRegistry);
+        }
+    }
+
+
+    /**
+     * 인바운드 프레임 처리 시작
+     */
+    public Timer.Sample startFrame() {
+        ChatCallScope.begin();
+        return Timer.start(meterRegistry);
+    }
+
+
+    /**
+     * 인바운드 프레임 처리 종료
+     */
+    public void endFrame(Timer.Sample sample, StompCommand command, String stage, boolean success) {
+        ChatCallScope.Calls calls = ChatCallScope.end();
+        String commandTag = command != null ? command.name() : "NONE";
+
+        sample.stop(Timer.builder("chat.stomp.frame")
+                .description("STOMP 인바운드 프레임 처리 시간")
+                .tag("command", commandTag)
+                .tag("stage", stage)
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry));
+        if (!callCountEnabled) {
+            return;
+        }
+        DistributionSummary.builder("chat.stomp.frame.db.calls")
+                .description("프레임당 DB 호출 수")
+                .tag("command", commandTag)
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(calls.db());
+        DistributionSummary.builder("chat.stomp.frame.redis.calls")
+                .description("프레임당 Redis 호출 수")
+                .tag("command", commandTag)
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(calls.redis());
+    }
+
+
+    /**
+     * 메세지 저장
+     *
+     * @param roomType     채팅방 타입(모르면 null)
+     * @param elapsedNanos 저장에 걸린 시간
+     */
+    public void recordMessage(Long roomId, RoomType roomType, long elapsedNanos) {
+        String roomTypeTag = roomType != null ? roomType.name() : "UNKNOWN";
+        meterRegistry.counter("chat.messages", "room.type", roomTypeTag).increment();
+        Timer.builder("chat.message.save")
+                .description("메세지 저장 시간")
+                .tag("room.type", roomTypeTag)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        hotRooms.add(roomId);
+    }
+
+
+    /**
+     * 재전송되어 저장하지 않은 메세지
+     */
+    public void recordDuplicateMessage() {
+        meterRegistry.counter("chat.messages.duplicates").increment();
+    }
+
+
+    /**
+     * 메세지가 많은 채팅방 상위 limit 개
+     */
+    public List<SpaceSavingTopK.Entry<Long>> getHotRooms(int limit) {
+        return hotRooms.top(limit);
+    }
+
+
+    /**
+     * 채팅방별 메세지 구독 수
+     *
+     * @return Map(채팅방 아이디, 구독 수)
+     */
+    public Map<Long, Integer> getRoomSubscriberCounts() {
+        String prefix = DESTINATION_PREFIX + "room/";
+        Map<Long, Integer> counts = new HashMap<>();
+        for (SimpSubscription subscription : simpUserRegistry.findSubscriptions(s -> s.getDestination().startsWith(prefix))) {
+            try {
+                counts.merge(Long.parseLong(subscription.getDestination().substring(prefix.length())), 1, Integer::sum);
+            } catch (NumberFormatException ignored) {
+                // 채팅방 아이디가 아닌 구독 경로
+            }
+        }
+        return counts;
+    }
+
+
+    /**
+     * 오래된 빈도의 비중을 줄여 최근 상위 채팅방을 보여줌
+     */
+    @Scheduled(fixedDelayString = "${chat.metrics.hot-rooms.decay-ms:60000}")
+    public void decayHotRooms() {
+        hotRooms.decay();
+    }
+
+
+    private int countSubscriptions(String prefix) {
+        return simpUserRegistry.findSubscriptions(s -> s.getDestination().startsWith(prefix)).size();
+    }
+}
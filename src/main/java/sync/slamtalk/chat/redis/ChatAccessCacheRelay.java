@@ -0,0 +1,99 @@
+package sync.slamtalk.chat.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sync.slamtalk.chat.event.ChatMembershipEvictedEvent;
+import sync.slamtalk.chat.event.ChatRoomEvictedEvent;
+import sync.slamtalk.chat.service.ChatRoomAccessCache;
+
+import java.io.IOException;
+
+/**
+ * 서버 간 채팅방 접근 캐시 제거 중계(Redis Pub/Sub)
+ *
+ * <p>채팅방 접근 캐시는 서버마다 따로 있으므로, 사용자가 채팅방을 나가거나 채팅방이 삭제되면 트랜잭션 커밋 후
+ * 제거할 (사용자, 채팅방) 또는 채팅방을 Redis 채널에 발행하고 다른 서버는 받아서 자신의 캐시에서 제거합니다.
+ * 자신이 발행한 메세지는 서버 아이디로 걸러냅니다.
+ */
+@Slf4j
+public class ChatAccessCacheRelay implements MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChatRoomAccessCache chatRoomAccessCache;
+    private final String channel;
+    private final String nodeId;
+
+    public ChatAccessCacheRelay(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                                ChatRoomAccessCache chatRoomAccessCache, String channel, String nodeId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.chatRoomAccessCache = chatRoomAccessCache;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * 채팅방 나가기가 커밋된 뒤 다른 서버로 발행
+     */
+    @TransactionalEventListener(value = ChatMembershipEvictedEvent.class, fallbackExecution = true)
+    public void publish(ChatMembershipEvictedEvent event) {
+        send(new EvictionEnvelope(nodeId, event.userId(), event.roomId()));
+    }
+
+    /**
+     * 채팅방 삭제가 커밋된 뒤 다른 서버로 발행(사용자 아이디 없이 채팅방 전체 제거)
+     */
+    @TransactionalEventListener(value = ChatRoomEvictedEvent.class, fallbackExecution = true)
+    public void publish(ChatRoomEvictedEvent event) {
+        send(new EvictionEnvelope(nodeId, null, event.roomId()));
+    }
+
+    private void send(EvictionEnvelope envelope) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            // 발행에 실패해도 다른 서버의 캐시는 만료 시간(chat.access-cache.ttl-seconds) 후 정리
+            log.error("=== 채팅방 접근 캐시 제거 발행 실패 : {} ===", envelope, e);
+        }
+    }
+
+    /**
+     * 다른 서버에서 발행한 캐시 제거
+     */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+        EvictionEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), EvictionEnvelope.class);
+        } catch (IOException e) {
+            log.error("=== 채팅방 접근 캐시 제거 메세지 파싱 실패 ===", e);
+            return;
+        }
+        if (nodeId.equals(envelope.node())) {
+            return;
+        }
+        if (envelope.userId() == null) {
+            chatRoomAccessCache.evictRoomLocally(envelope.roomId());
+            return;
+        }
+        chatRoomAccessCache.evictMemberLocally(envelope.userId(), envelope.roomId());
+    }
+
+    /**
+     * Redis 채널로 주고받는 메세지
+     *
+     * @param node   발행한 서버 아이디
+     * @param userId 사용자 아이디(null 이면 채팅방 전체)
+     * @param roomId 채팅방 아이디
+     */
+    public record EvictionEnvelope(String node, Long userId, Long roomId) {
+    }
+}
@@ -0,0 +1,133 @@
+package sync.slamtalk.chat.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 서버 간 채팅 메세지 중계(Redis Pub/Sub)
+ *
+ * <p>simple broker 는 같은 서버에 연결된 구독자에게만 메세지를 전달하므로,
+ * brokerChannel 로 들어오는 /sub/chat/** 메세지를 Redis 채널에 발행하고
+ * 다른 서버에서 발행한 메세지를 받아 이 서버의 brokerChannel 에 다시 넣습니다.
+ * <ul>
+ *     <li>이 서버의 구독자에게는 기존처럼 simple broker 가 바로 전달합니다.</li>
+ *     <li>자신이 발행한 메세지는 서버 아이디로 걸러내고, 중계된 메세지는 다시 발행하지 않습니다.</li>
+ * </ul>
+ */
+@Slf4j
+public class ChatBrokerRelay implements ChannelInterceptor, MessageListener {
+
+    public static final String RELAY_DESTINATION_PREFIX = "/sub/chat/";
+
+    // 다른 서버에서 중계된 메세지 표시 헤더
+    public static final String RELAYED_HEADER = "chatRelayed";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MessageChannel brokerChannel;
+    private final String channel;
+    private final String nodeId;
+
+    public ChatBrokerRelay(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                           MessageChannel brokerChannel, String channel, String nodeId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.brokerChannel = brokerChannel;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * brokerChannel 로 들어온 메세지를 다른 서버로 발행
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel messageChannel) {
+        MessageHeaders headers = message.getHeaders();
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination == null
+                || !destination.startsWith(RELAY_DESTINATION_PREFIX)
+                || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || headers.containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            log.warn("=== 중계할 수 없는 메세지 형식 : {} ===", destination);
+            return message;
+        }
+
+        MimeType contentType = SimpMessageHeaderAccessor.getContentType(headers);
+        RelayEnvelope envelope = new RelayEnvelope(
+                nodeId,
+                destination,
+                contentType != null ? contentType.toString() : null,
+                new String(payload, StandardCharsets.UTF_8));
+        try {
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+        } catch (JsonProcessingException e) {
+            log.error("=== 메세지 중계 실패 : {} ===", destination, e);
+        } catch (Exception e) {
+            // 다른 서버로의 중계가 실패해도 이 서버의 구독자에게는 전달
+            log.error("=== Redis 메세지 발행 실패 : {} ===", destination, e);
+        }
+        return message;
+    }
+
+    /**
+     * 다른 서버에서 발행한 메세지를 이 서버의 구독자에게 전달
+     */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+        RelayEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), RelayEnvelope.class);
+        } catch (IOException e) {
+            log.error("=== 중계 메세지 파싱 실패 ===", e);
+            return;
+        }
+        if (nodeId.equals(envelope.node())) {
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(envelope.destination());
+        if (envelope.contentType() != null) {
+            accessor.setContentType(MimeType.valueOf(envelope.contentType()));
+        }
+        accessor.setHeader(RELAYED_HEADER, Boolean.TRUE);
+        brokerChannel.send(MessageBuilder.createMessage(
+                envelope.payload().getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+    }
+
+    /**
+     * Redis 채널로 주고받는 메세지
+     *
+     * @param node        발행한 서버 아이디
+     * @param destination 구독 경로
+     * @param contentType 본문 타입
+     * @param payload     본문(UTF-8)
+     */
+    public record RelayEnvelope(String node, String destination, String contentType, String payload) {
+    }
+}
@@ -0,0 +1,74 @@
+package sync.slamtalk.chat.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessageChannel;
+import sync.slamtalk.chat.service.ChatRoomAccessCache;
+import sync.slamtalk.chat.service.SenderProfileResolver;
+
+import java.util.UUID;
+
+/**
+ * 채팅 브로커 모드 설정
+ *
+ * <p>chat.broker.mode=redis 이면 Redis Pub/Sub 으로 여러 서버의 /sub/chat/** 구독자에게 메세지를 전달합니다.
+ * 채팅방 접근 캐시와 작성자 프로필 캐시 제거도 같은 방식으로 다른 서버에 전달합니다.
+ * 기본값(simple)은 기존처럼 한 서버 안에서만 전달합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis")
+public class ChatBrokerRelayConfig {
+
+    // brokerChannel 은 웹소켓 설정에서 이 중계기를 등록한 뒤에 생성되므로 지연 주입
+    @Bean
+    public ChatBrokerRelay chatBrokerRelay(StringRedisTemplate stringRedisTemplate,
+                                           ObjectMapper objectMapper,
+                                           @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                                           @Value("${chat.broker.channel:chat_broker}") String channel,
+                                           @Value("${chat.broker.node-id:}") String nodeId) {
+        return new ChatBrokerRelay(stringRedisTemplate, objectMapper, brokerChannel, channel,
+                nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId);
+    }
+
+    @Bean
+    public ChatAccessCacheRelay chatAccessCacheRelay(StringRedisTemplate stringRedisTemplate,
+                                                     ObjectMapper objectMapper,
+                                                     ChatRoomAccessCache chatRoomAccessCache,
+                                                     ChatBrokerRelay chatBrokerRelay,
+                                                     @Value("${chat.broker.access-cache-channel:chat_access_cache}") String channel) {
+        return new ChatAccessCacheRelay(stringRedisTemplate, objectMapper, chatRoomAccessCache, channel,
+                chatBrokerRelay.getNodeId());
+    }
+
+    @Bean
+    public SenderProfileCacheRelay senderProfileCacheRelay(StringRedisTemplate stringRedisTemplate,
+                                                           ObjectMapper objectMapper,
+                                                           SenderProfileResolver senderProfileResolver,
+                                                           ChatBrokerRelay chatBrokerRelay,
+                                                           @Value("${chat.broker.sender-profile-channel:chat_sender_profile}") String channel) {
+        return new SenderProfileCacheRelay(stringRedisTemplate, objectMapper, senderProfileResolver, channel,
+                chatBrokerRelay.getNodeId());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer chatBrokerListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                     ChatBrokerRelay chatBrokerRelay,
+                                                                     ChatAccessCacheRelay chatAccessCacheRelay,
+                                                                     SenderProfileCacheRelay senderProfileCacheRelay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(chatBrokerRelay, new ChannelTopic(chatBrokerRelay.getChannel()));
+        container.addMessageListener(chatAccessCacheRelay, new ChannelTopic(chatAccessCacheRelay.getChannel()));
+        container.addMessageListener(senderProfileCacheRelay, new ChannelTopic(senderProfileCacheRelay.getChannel()));
+        return container;
+    }
+}
@@ -2,20 +2,21 @@ package sync.slamtalk.chat.redis;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import sync.slamtalk.chat.dto.request.ChatMessageDTO;
 import sync.slamtalk.common.BaseException;
 import sync.slamtalk.email.EmailErrorResponseCode;
-import sync.slamtalk.user.UserRepository;
-import sync.slamtalk.user.entity.User;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,110 +24,773 @@ import java.util.stream.Collectors;
 public class RedisService {
     private final RedisTemplate<String, String> redisTemplate;
     private final StringRedisTemplate stringRedisTemplate;
-    private final UserRepository userRepository;
+
+    // 저장된 마지막 메세지보다 아이디가 큰 경우에만 채팅방의 마지막 메세지를 갱신
+    private static final String UPDATE_LAST_MESSAGE_SCRIPT =
+            "local current = redis.call('HGET', KEYS[1], 'messageId') " +
+            "if current and tonumber(current) >= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'messageId', ARGV[1], 'messageContent', ARGV[2], 'sendTime', ARGV[3]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[4]) " +
+            "return 1";
+
+    // 연속 구간 하한을 올리고 그 아래 메세지 키를 정렬된 세트에서 제거
+    private static final RedisScript<Long> RAISE_FLOOR_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if (not current) or tonumber(current) >= tonumber(ARGV[1]) then return 0 end " +
+            "local ttl = redis.call('PTTL', KEYS[1]) " +
+            "if ttl > 0 then redis.call('SET', KEYS[1], ARGV[1], 'PX', ttl) else redis.call('SET', KEYS[1], ARGV[1]) end " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[1]) " +
+            "return 1", Long.class);
+
+    // 맞닿아 있는 구간인 경우에만 연속 구간 하한을 내림(최신 구간이면 새로 생성)
+    private static final String LOWER_FLOOR_SCRIPT =
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current then " +
+            "  if tonumber(ARGV[2]) < tonumber(current) - 1 then return 0 end " +
+            "  if tonumber(ARGV[1]) < tonumber(current) then redis.call('SET', KEYS[1], ARGV[1]) end " +
+            "elseif ARGV[4] == '1' then " +
+            "  redis.call('SET', KEYS[1], ARGV[1]) " +
+            "else return 0 end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1";
+
+    // 저장된 읽은 위치보다 큰 경우에만 갱신하고, DB 반영 대상 사용자로 표시
+    private static final RedisScript<Long> SAVE_READ_INDEX_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "if current and tonumber(current) >= tonumber(ARGV[2]) then return 0 end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "redis.call('SADD', KEYS[2], ARGV[4]) " +
+            "return 1", Long.class);
+
+    // 채팅방에서 마지막으로 발급한 메세지 아이디보다 큰 경우에만 갱신(아니면 마지막 아이디 반환)
+    private static final RedisScript<String> CLAIM_ROOM_MESSAGE_ID_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current and tonumber(current) >= tonumber(ARGV[1]) then return current end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) " +
+            "return false", String.class);
+
+    // 처음 보는 클라이언트 메세지 아이디면 처리 중(0)으로 기록, 이미 있으면 기록된 메세지 아이디 반환
+    private static final RedisScript<String> CLAIM_CLIENT_MESSAGE_ID_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if current then return current end " +
+            "redis.call('SET', KEYS[1], '0', 'EX', ARGV[1]) " +
+            "return false", String.class);
+
+    // DB 저장에 실패한 메세지 키 목록
+    private static final String MESSAGE_DEAD_LETTER_KEY = "chat_message:dead_letter";
+
+    // DB 에 반영해야 하는 읽은 위치를 가진 사용자 세트
+    private static final String READ_INDEX_DIRTY_KEY = "chat_read:dirty";
+
+    // 응답 없는 서버의 접속 기록을 제거하고, 다른 서버에도 남아 있지 않은 사용자 아이디만 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PRUNE_PRESENCE_SCRIPT = new DefaultRedisScript<>(
+            "local stale = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1]) " +
+            "if #stale == 0 then return {} end " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1]) " +
+            "local present = {} " +
+            "for _, member in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do present[string.match(member, '^[^:]+')] = true end " +
+            "local left = {} " +
+            "for _, member in ipairs(stale) do " +
+            "  local user = string.match(member, '^[^:]+') " +
+            "  if not present[user] then present[user] = true table.insert(left, user) end " +
+            "end " +
+            "return left", List.class);
+
+    // 이 서버의 접속 기록을 추가하고, 다른 서버에 확인된 접속 기록이 없었으면 1(처음 입장)
+    private static final RedisScript<Long> ADD_PRESENCE_SCRIPT = new DefaultRedisScript<>(
+            "local first = 1 " +
+            "for _, member in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[3], '+inf')) do " +
+            "  if member ~= ARGV[1] and string.sub(member, 1, #ARGV[4]) == ARGV[4] then first = 0 end " +
+            "end " +
+            "redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[5]) " +
+            "return first", Long.class);
+
+    // 이 서버의 접속 기록을 제거하고, 다른 서버에도 확인된 접속 기록이 없으면 1(완전히 퇴장)
+    private static final RedisScript<Long> REMOVE_PRESENCE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('ZREM', KEYS[1], ARGV[1]) " +
+            "for _, member in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[2], '+inf')) do " +
+            "  if string.sub(member, 1, #ARGV[3]) == ARGV[3] then return 0 end " +
+            "end " +
+            "return 1", Long.class);
 
     // 메세지 저장
+    // 새로 발생한 메세지이므로 채팅방의 마지막 메세지와 연속 구간도 함께 갱신
     public void saveMessage(ChatMessageDTO messageDTO, long timeoutInSeconds) {
-        String messageKey = "chat_room:" + messageDTO.getRoomId() + ":message:" + messageDTO.getMessageId();//System.nanoTime(); //고유한 메세지 아이디 생성
-        Map<String, String> messageInfo = new HashMap<>();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            writeMessages(stringRedisConnection, List.of(messageDTO), timeoutInSeconds);
+
+            // 연속 구간이 없던 채팅방이면 이 메세지부터 연속 구간 시작
+            String floorKey = generateRoomFloorKey(Long.parseLong(messageDTO.getRoomId()));
+            stringRedisConnection.setNX(floorKey, messageDTO.getMessageId());
+            stringRedisConnection.expire(floorKey, timeoutInSeconds);
+
+            stringRedisConnection.eval(UPDATE_LAST_MESSAGE_SCRIPT, ReturnType.INTEGER, 1,
+                    generateRoomLastMessageKey(Long.parseLong(messageDTO.getRoomId())),
+                    messageDTO.getMessageId(),
+                    messageDTO.getContent(),
+                    messageDTO.getTimestamp(),
+                    Long.toString(timeoutInSeconds));
+            return null;
+        });
+        log.debug("====redis 메세지 저장 완료 : {}====", messageDTO.getMessageId());
+    }
 
-        messageInfo.put("messageId", messageDTO.getMessageId());
-        messageInfo.put("senderId", messageDTO.getSenderId().toString());
-        messageInfo.put("roomId", messageDTO.getRoomId());
-        messageInfo.put("senderNickName", messageDTO.getSenderNickname());
-        messageInfo.put("messageContent", messageDTO.getContent());
-        messageInfo.put("sendTime", messageDTO.getTimestamp());
 
-        // 메시지 메타데이터 저장
-        redisTemplate.opsForHash().putAll(messageKey, messageInfo);
+    /**
+     * 여러 메세지를 한 번의 왕복(파이프라인)으로 Redis 에 저장합니다.
+     * 메세지마다 해시 저장(HMSET)과 만료 설정, 채팅방 정렬된 세트 추가(ZADD)를 수행하고
+     * 채팅방 정렬된 세트의 만료 시간은 채팅방마다 한 번만 갱신합니다.
+     * 정렬된 세트의 점수는 메세지 아이디입니다.
+     *
+     * @param messages         저장할 메세지 목록
+     * @param timeoutInSeconds 만료 시간(초)
+     */
+    public void saveMessages(List<ChatMessageDTO> messages, long timeoutInSeconds) {
+        if (messages.isEmpty()) {
+            return;
+        }
 
-        // 메시지 메타데이터에 대한 만료 시간 설정
-        redisTemplate.expire(messageKey, timeoutInSeconds, TimeUnit.SECONDS);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            writeMessages((StringRedisConnection) connection, messages, timeoutInSeconds);
+            return null;
+        });
 
-        // 메시지 ID 를 정렬된 세트에 추가(메세지 ID 를 점수로 사용)
-        String roomId = messageDTO.getRoomId();
-        long longRoomId = Long.parseLong(roomId);
+        log.debug("====redis 저장 완료 : {}건====", messages.size());
+    }
 
-        String chatRoomMessageKey = String.format("chat_room%d:messages", longRoomId);
-        redisTemplate.opsForZSet().add(chatRoomMessageKey, messageKey, longRoomId);
 
-        // 정렬된 세트에 대한 만료 시간 설정도 고려해야 할 수 있음
-        redisTemplate.expire(chatRoomMessageKey, timeoutInSeconds, TimeUnit.SECONDS);
+    /**
+     * DB 저장에 실패한 메세지를 실패 목록(dead letter)에 보관합니다.
+     * 메세지 해시를 다시 저장해서 만료를 없애고, 메세지 키를 'chat_message:dead_letter' 리스트에 추가합니다.
+     * 운영자가 원인을 해결한 뒤 목록의 메세지를 다시 저장합니다.
+     *
+     * @param messages 저장에 실패한 메세지
+     */
+    public void pushDeadLetterMessages(List<ChatMessageDTO> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
 
-        log.debug("===redis 저장 된 아이디 :{}", messageDTO.getMessageId());
-        log.debug("====redis 저장 완료====");
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (ChatMessageDTO messageDTO : messages) {
+                String messageKey = generateMessageKey(messageDTO.getRoomId(), messageDTO.getMessageId());
+                stringRedisConnection.hMSet(messageKey, toMessageInfo(messageDTO));
+                stringRedisConnection.persist(messageKey);
+                stringRedisConnection.rPush(MESSAGE_DEAD_LETTER_KEY, messageKey);
+            }
+            return null;
+        });
     }
 
 
-    // 메세지 가져오기
-    public List<ChatMessageDTO> getMessages(Long roomId, Long lastMessageId) {
+    /**
+     * 채팅방들의 마지막 메세지를 한 번의 왕복(파이프라인)으로 조회합니다.
+     * 저장된 마지막 메세지가 없는 채팅방은 결과에 포함되지 않습니다.
+     *
+     * @param roomIds 채팅방 아이디 목록
+     * @return Map(채팅방 아이디, 마지막 메세지)
+     */
+    public Map<Long, ChatMessageDTO> getLastMessages(List<Long> roomIds) {
+        if (roomIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (Long roomId : roomIds) {
+                stringRedisConnection.hGetAll(generateRoomLastMessageKey(roomId));
+            }
+            return null;
+        });
+
+        Map<Long, ChatMessageDTO> lastMessages = new HashMap<>();
+        for (int i = 0; i < roomIds.size(); i++) {
+            Map<?, ?> entry = (Map<?, ?>) results.get(i);
+            if (entry == null || entry.isEmpty()) {
+                continue;
+            }
+            lastMessages.put(roomIds.get(i), ChatMessageDTO.builder()
+                    .messageId(entry.get("messageId").toString())
+                    .roomId(roomIds.get(i).toString())
+                    .content(entry.get("messageContent").toString())
+                    .timestamp(entry.get("sendTime").toString())
+                    .build());
+        }
+        return lastMessages;
+    }
 
-        List<ChatMessageDTO> chatList = new ArrayList<>();
 
-        // 검색 key 생성
-        // 특정 채팅방 메세지 모두 가져오기
-        String messageKey = "chat_room:" + roomId + "*";
+    /**
+     * 연결(파이프라인)에 메세지 저장 명령을 추가합니다.
+     */
+    private static void writeMessages(StringRedisConnection stringRedisConnection, List<ChatMessageDTO> messages, long timeoutInSeconds) {
+        Set<String> chatRoomMessageKeys = new HashSet<>();
 
-        // 디버그용
-        //log.debug("=========> messageKey : {}",messageKey);
-        Set<String> keys = stringRedisTemplate.keys(messageKey);
+        for (ChatMessageDTO messageDTO : messages) {
+            String messageKey = generateMessageKey(messageDTO.getRoomId(), messageDTO.getMessageId());
+            String chatRoomMessageKey = generateRoomMessagesKey(Long.parseLong(messageDTO.getRoomId()));
 
+            // 메시지 메타데이터 저장 및 만료 시간 설정
+            stringRedisConnection.hMSet(messageKey, toMessageInfo(messageDTO));
+            stringRedisConnection.expire(messageKey, timeoutInSeconds);
 
-        Set<String> sortedKeys = keys.stream()
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toCollection(LinkedHashSet::new)); // 순서를 유지하는 Set으로 수집
+            // 메시지 키를 채팅방 정렬된 세트에 추가(메세지 ID 를 점수로 사용)
+            stringRedisConnection.zAdd(chatRoomMessageKey, Long.parseLong(messageDTO.getMessageId()), messageKey);
+            chatRoomMessageKeys.add(chatRoomMessageKey);
+        }
 
-        for (String k : sortedKeys) {
-            log.debug("== all key:{}", k);
+        // 정렬된 세트에 대한 만료 시간 설정
+        for (String chatRoomMessageKey : chatRoomMessageKeys) {
+            stringRedisConnection.expire(chatRoomMessageKey, timeoutInSeconds);
         }
+    }
 
 
-        log.debug("== lastMessageId : {}", lastMessageId);
+    /**
+     * 채팅방의 연속 구간(floor 이상)에서 fromMessageId 이하 메세지를 최신순으로 최대 size 개 조회합니다.
+     *
+     * <p>채팅방마다 'chat_room{roomId}:floor' 에 "이 아이디 이상의 메세지는 모두 캐시되어 있다" 는 하한을 저장합니다.
+     * floor 보다 작은 점수의 메세지는 중간이 비어 있을 수 있으므로 조회하지 않습니다.
+     * 정렬된 세트를 역순 조회한 뒤 메세지 해시는 한 번의 파이프라인으로 가져오고,
+     * 해시가 만료된 메세지를 만나면 거기서 멈추고 floor 를 그 위로 올립니다.
+     *
+     * @param roomId        채팅방 아이디
+     * @param fromMessageId 기준 메세지 아이디(포함)
+     * @param size          최대 조회 갯수
+     * @return CachedHistory 메세지(아이디 내림차순)와 조회 후 floor(연속 구간이 없으면 null)
+     */
+    public CachedHistory getContiguousMessages(Long roomId, long fromMessageId, int size) {
+        String floorValue = stringRedisTemplate.opsForValue().get(generateRoomFloorKey(roomId));
+        if (floorValue == null) {
+            return new CachedHistory(Collections.emptyList(), null);
+        }
+        long floor = Long.parseLong(floorValue);
+        if (fromMessageId < floor) {
+            return new CachedHistory(Collections.emptyList(), floor);
+        }
 
-        List<String> keyCollect = sortedKeys.stream()
-                .map(key -> key.split(":"))
-                // 분할된 배열에서 메시지 ID가 숫자 형태인지, 그리고 lastMessageId보다 작은지 확인
-                .filter(parts -> parts.length == 4 && parts[3].matches("\\d+") && Long.parseLong(parts[3]) <= lastMessageId)
-                // 원래 키 형태로 복원
-                .map(parts -> String.join(":", parts))
-                // 메시지 ID에 따라 내림차순 정렬
-                // 상위 30개만 선택
-                .limit(30)
-                .collect(Collectors.toList());
+        // ZREVRANGEBYSCORE chat_room{roomId}:messages fromMessageId floor LIMIT 0 size
+        Set<String> keyCollect = stringRedisTemplate.opsForZSet()
+                .reverseRangeByScore(generateRoomMessagesKey(roomId), floor, fromMessageId, 0, size);
+        if (keyCollect == null || keyCollect.isEmpty()) {
+            return new CachedHistory(Collections.emptyList(), floor);
+        }
 
-        for (String key : keyCollect) {
-            log.debug("== key : {}", key);
-            Map<Object, Object> entry = stringRedisTemplate.opsForHash().entries(key);
+        List<String> keys = new ArrayList<>(keyCollect);
+        List<Object> entries = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (String key : keys) {
+                stringRedisConnection.hGetAll(key);
+            }
+            return null;
+        });
+
+        List<ChatMessageDTO> chatList = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Map<?, ?> entry = (Map<?, ?>) entries.get(i);
+            if (entry == null || entry.isEmpty()) {
+                // 만료된 메세지 아래로는 연속성이 깨졌으므로 floor 를 올리고 정리
+                long expiredMessageId = parseMessageId(keys.get(i));
+                log.debug("==redisService 만료된 메세지 키 : {}", keys.get(i));
+                stringRedisTemplate.execute(RAISE_FLOOR_SCRIPT,
+                        List.of(generateRoomFloorKey(roomId), generateRoomMessagesKey(roomId)),
+                        Long.toString(expiredMessageId + 1));
+                floor = expiredMessageId + 1;
+                break;
+            }
+            chatList.add(toChatMessageDTO(entry));
+        }
+        return new CachedHistory(chatList, floor);
+    }
 
-            if (entry.isEmpty()) {
-                log.debug("==redisService key값들 아무것도 가져오지 못함");
+
+    /**
+     * 여러 채팅방에서 기준 메세지 아이디 이후의 캐시된 메세지를 채팅방마다 최대 size 개씩 조회합니다.
+     *
+     * <p>채팅방별 연속 구간 하한(floor), 마지막 메세지 아이디, 정렬된 세트 조회를 한 번의 파이프라인으로,
+     * 메세지 해시를 다시 한 번의 파이프라인으로 가져옵니다.
+     * requireContiguous 인 경우 기준 메세지 바로 다음부터 연속 구간 안에 있고 만료된 메세지가 없는 채팅방만 결과에 포함되며,
+     * 포함되지 않은 채팅방은 DB 에서 조회해야 합니다.
+     * 아닌 경우(DB 에 기준 메세지 이후가 없음을 확인한 뒤 아직 DB 에 반영되지 않은 메세지를 찾을 때)는 남아 있는 메세지를 모두 내려줍니다.
+     *
+     * @param lastMessageIds    Map(채팅방 아이디, 기준 메세지 아이디(미포함))
+     * @param size              채팅방별 최대 조회 갯수
+     * @param requireContiguous 연속 구간이 보장되는 채팅방만 조회할지 여부
+     * @return Map(채팅방 아이디, 메세지(아이디 오름차순))
+     */
+    public Map<Long, List<ChatMessageDTO>> getMessagesAfter(Map<Long, Long> lastMessageIds, int size,
+                                                           boolean requireContiguous) {
+        if (lastMessageIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Long> roomIds = new ArrayList<>(lastMessageIds.keySet());
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (Long roomId : roomIds) {
+                stringRedisConnection.get(generateRoomFloorKey(roomId));
+                stringRedisConnection.hGet(generateRoomLastMessageKey(roomId), "messageId");
+                // ZRANGEBYSCORE chat_room{roomId}:messages (lastMessageId +inf LIMIT 0 size
+                stringRedisConnection.zRangeByScore(generateRoomMessagesKey(roomId),
+                        lastMessageIds.get(roomId) + 1, Long.MAX_VALUE, 0, size);
+            }
+            return null;
+        });
+
+        Map<Long, List<String>> keysByRoom = new LinkedHashMap<>();
+        for (int i = 0; i < roomIds.size(); i++) {
+            Object floor = results.get(i * 3);
+            Object lastMessageId = results.get(i * 3 + 1);
+            Set<?> keys = (Set<?>) results.get(i * 3 + 2);
+            long after = lastMessageIds.get(roomIds.get(i));
+
+            boolean empty = keys == null || keys.isEmpty();
+            if (!requireContiguous) {
+                keysByRoom.put(roomIds.get(i), empty ? List.of() : keys.stream().map(Object::toString).toList());
+                continue;
             }
 
-            Object senderId = entry.get("senderId");
-            long userId = Long.parseLong(senderId.toString());
-            Optional<User> optionalUser = userRepository.findById(userId);
-            String userImg = null;
-            if (optionalUser.isPresent()) {
-                userImg = optionalUser.get().getImageUrl();
+            // 기준 메세지 다음부터 연속 구간이어야 하고, 새 메세지가 없다면 마지막 메세지로 확인되어야 함
+            if (floor == null || Long.parseLong(floor.toString()) > after + 1) {
+                continue;
+            }
+            if (empty && (lastMessageId == null || Long.parseLong(lastMessageId.toString()) > after)) {
+                continue;
             }
+            keysByRoom.put(roomIds.get(i), empty ? List.of() : keys.stream().map(Object::toString).toList());
+        }
 
-            ChatMessageDTO chatMessageDTO = ChatMessageDTO.builder()
-                    .messageId(entry.get("messageId").toString())
-                    .roomId(entry.get("roomId").toString())
-                    .senderId(userId)
-                    .senderNickname(entry.get("senderNickName").toString())
-                    .imgUrl(userImg)
-                    .content(entry.get("messageContent").toString())
-                    .timestamp(entry.get("sendTime").toString())
-                    .build();
-            log.debug("====완성:{}", chatMessageDTO.getContent());
-            chatList.add(chatMessageDTO);
+        List<String> allKeys = keysByRoom.values().stream().flatMap(List::stream).toList();
+        List<Object> entries = allKeys.isEmpty() ? List.of() : stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (String key : allKeys) {
+                stringRedisConnection.hGetAll(key);
+            }
+            return null;
+        });
+
+        Map<Long, List<ChatMessageDTO>> messagesByRoom = new HashMap<>();
+        int index = 0;
+        for (Map.Entry<Long, List<String>> room : keysByRoom.entrySet()) {
+            List<ChatMessageDTO> messages = new ArrayList<>(room.getValue().size());
+            boolean expired = false;
+            for (int i = 0; i < room.getValue().size(); i++) {
+                Map<?, ?> entry = (Map<?, ?>) entries.get(index++);
+                if (entry == null || entry.isEmpty()) {
+                    expired = true;
+                    continue;
+                }
+                messages.add(toChatMessageDTO(entry));
+            }
+            // 중간에 만료된 메세지가 있으면 DB 에서 조회
+            if (!expired || !requireContiguous) {
+                messagesByRoom.put(room.getKey(), messages);
+            }
+        }
+        return messagesByRoom;
+    }
+
+
+    /**
+     * DB 에서 읽은 메세지 구간을 한 번의 파이프라인으로 캐싱하고 연속 구간(floor)을 넓힙니다.
+     * [coveredFrom, coveredTo] 구간의 메세지가 빠짐없이 포함되어 있어야 하며,
+     * 구간이 기존 연속 구간과 맞닿아 있는 경우(또는 최신 구간인 경우)에만 floor 를 내립니다.
+     *
+     * @param roomId           채팅방 아이디
+     * @param messages         구간의 메세지
+     * @param coveredFrom      구간 하한(포함)
+     * @param coveredTo        구간 상한(포함)
+     * @param latest           구간이 채팅방의 최신 메세지까지 포함하는지 여부
+     * @param timeoutInSeconds 만료 시간(초)
+     */
+    public void cacheHistory(Long roomId, List<ChatMessageDTO> messages, long coveredFrom, long coveredTo,
+                             boolean latest, long timeoutInSeconds) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            if (!messages.isEmpty()) {
+                writeMessages(stringRedisConnection, messages, timeoutInSeconds);
+            }
+            stringRedisConnection.eval(LOWER_FLOOR_SCRIPT, ReturnType.INTEGER, 1,
+                    generateRoomFloorKey(roomId),
+                    Long.toString(coveredFrom),
+                    Long.toString(coveredTo),
+                    Long.toString(timeoutInSeconds),
+                    latest ? "1" : "0");
+            return null;
+        });
+        log.debug("====redis 과거 내역 캐싱 : {}건, floor 후보 {}====", messages.size(), coveredFrom);
+    }
+
+
+    /**
+     * 채팅방 마지막 메세지 아이디 조회(캐시된 채팅방 마지막 메세지 기준, 없으면 null)
+     */
+    public Long getLastMessageId(Long roomId) {
+        Object messageId = stringRedisTemplate.opsForHash().get(generateRoomLastMessageKey(roomId), "messageId");
+        return messageId == null ? null : Long.parseLong(messageId.toString());
+    }
+
+
+    /**
+     * 사용자가 채팅방에서 마지막으로 읽은 메세지 아이디 저장
+     * 이미 저장된 값보다 큰 경우에만 갱신합니다.
+     */
+    public void saveReadIndex(Long userId, Long roomId, Long messageId, long timeoutInSeconds) {
+        stringRedisTemplate.execute(SAVE_READ_INDEX_SCRIPT,
+                List.of(generateReadIndexKey(userId), READ_INDEX_DIRTY_KEY),
+                roomId.toString(), messageId.toString(), Long.toString(timeoutInSeconds), userId.toString());
+    }
+
+
+    /**
+     * 사용자의 채팅방별 읽은 위치 조회
+     *
+     * @return Map(채팅방 아이디, 메세지 아이디)
+     */
+    public Map<Long, Long> getReadIndexes(Long userId) {
+        return toReadIndexes(stringRedisTemplate.opsForHash().entries(generateReadIndexKey(userId)));
+    }
+
+
+    /**
+     * (사용자, 채팅방) 쌍의 읽은 위치를 한 번에 조회
+     *
+     * @return List(메세지 아이디) 입력 순서와 같으며 저장된 값이 없으면 null
+     */
+    public List<Long> getReadIndexes(List<Long> userIds, List<Long> roomIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (int i = 0; i < userIds.size(); i++) {
+                stringRedisConnection.hGet(generateReadIndexKey(userIds.get(i)), roomIds.get(i).toString());
+            }
+            return null;
+        });
+        List<Long> readIndexes = new ArrayList<>(results.size());
+        for (Object result : results) {
+            readIndexes.add(result == null ? null : Long.parseLong(result.toString()));
+        }
+        return readIndexes;
+    }
+
+
+    /**
+     * DB 에 반영할 읽은 위치를 최대 count 명의 사용자만큼 꺼냄
+     *
+     * @return Map(사용자 아이디, Map(채팅방 아이디, 메세지 아이디))
+     */
+    public Map<Long, Map<Long, Long>> popDirtyReadIndexes(int count) {
+        List<String> userIds = stringRedisTemplate.opsForSet().pop(READ_INDEX_DIRTY_KEY, count);
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (String userId : userIds) {
+                stringRedisConnection.hGetAll(generateReadIndexKey(Long.parseLong(userId)));
+            }
+            return null;
+        });
+
+        Map<Long, Map<Long, Long>> readIndexes = new HashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            Map<Long, Long> entries = toReadIndexes((Map<?, ?>) results.get(i));
+            if (!entries.isEmpty()) {
+                readIndexes.put(Long.parseLong(userIds.get(i)), entries);
+            }
+        }
+        return readIndexes;
+    }
+
+
+    /**
+     * DB 반영에 실패한 사용자를 다시 반영 대상으로 표시
+     */
+    public void markReadIndexesDirty(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.opsForSet().add(READ_INDEX_DIRTY_KEY,
+                userIds.stream().map(String::valueOf).toArray(String[]::new));
+    }
+
+
+    /**
+     * 채팅방의 다음 메세지 아이디 확정
+     * 여러 서버가 같은 채팅방에 메세지를 발급해도 채팅방 안에서는 확정된 순서대로 아이디가 증가하도록
+     * 마지막으로 확정된 아이디보다 큰 경우에만 확정합니다.
+     *
+     * @return 확정되면 null, 아니면 마지막으로 확정된 메세지 아이디(이보다 큰 아이디로 다시 시도)
+     */
+    public Long claimRoomMessageId(Long roomId, long messageId, long timeoutInSeconds) {
+        String current = stringRedisTemplate.execute(CLAIM_ROOM_MESSAGE_ID_SCRIPT,
+                List.of(generateRoomLastIdKey(roomId)), Long.toString(messageId), Long.toString(timeoutInSeconds));
+        return current == null ? null : Long.parseLong(current);
+    }
+
+
+    /**
+     * 클라이언트 메세지 아이디 선점
+     * 처리 중(0)으로 기록하고, 메세지 아이디를 발급하면 {@link #assignClientMessageId} 로 바꿉니다.
+     *
+     * @return 처음 보는 아이디면 null, 이미 처리한 아이디(재전송)면 발급한 메세지 아이디(아직 처리 중이면 0)
+     */
+    public Long claimClientMessageId(Long roomId, Long senderId, String clientMessageId, long timeoutInSeconds) {
+        String current = stringRedisTemplate.execute(CLAIM_CLIENT_MESSAGE_ID_SCRIPT,
+                List.of(generateClientMessageKey(roomId, senderId, clientMessageId)), Long.toString(timeoutInSeconds));
+        return current == null ? null : Long.parseLong(current);
+    }
+
+
+    /**
+     * 선점한 클라이언트 메세지 아이디에 발급한 메세지 아이디 기록(재전송 확인 응답에 사용)
+     */
+    public void assignClientMessageId(Long roomId, Long senderId, String clientMessageId, long messageId, long timeoutInSeconds) {
+        stringRedisTemplate.opsForValue().setIfPresent(generateClientMessageKey(roomId, senderId, clientMessageId),
+                Long.toString(messageId), Duration.ofSeconds(timeoutInSeconds));
+    }
+
+
+    /**
+     * 저장에 실패한 메세지의 클라이언트 메세지 아이디 선점 해제(재시도 허용)
+     */
+    public void releaseClientMessageId(Long roomId, Long senderId, String clientMessageId) {
+        stringRedisTemplate.delete(generateClientMessageKey(roomId, senderId, clientMessageId));
+    }
+
+
+    /**
+     * 채팅방 접속 사용자의 마지막 확인 시각 갱신
+     * 접속 기록은 서버별로 '사용자아이디:서버아이디' 로 저장합니다.
+     *
+     * @param presences Map(채팅방 아이디, Set(사용자 아이디))
+     * @param node      서버 아이디
+     * @param now       확인 시각(ms)
+     */
+    public void touchPresence(Map<Long, Set<Long>> presences, String node, long now, long timeoutInSeconds) {
+        if (presences.isEmpty()) {
+            return;
         }
-        return chatList;
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            presences.forEach((roomId, userIds) -> {
+                String presenceKey = generatePresenceKey(roomId);
+                for (Long userId : userIds) {
+                    stringRedisConnection.zAdd(presenceKey, now, generatePresenceMember(userId, node));
+                }
+                stringRedisConnection.expire(presenceKey, timeoutInSeconds);
+            });
+            return null;
+        });
     }
 
 
+    /**
+     * 이 서버의 채팅방 접속 기록 추가
+     *
+     * @param since 이 시각(ms) 이후에 확인된 다른 서버의 접속 기록만 유효
+     * @return 다른 서버에 접속 기록이 없었으면 true(처음 입장)
+     */
+    public boolean addPresence(Long roomId, Long userId, String node, long now, long since, long timeoutInSeconds) {
+        Long first = stringRedisTemplate.execute(ADD_PRESENCE_SCRIPT, List.of(generatePresenceKey(roomId)),
+                generatePresenceMember(userId, node), Long.toString(now), Long.toString(since),
+                userId + ":", Long.toString(timeoutInSeconds));
+        return first == null || first == 1L;
+    }
+
+
+    /**
+     * 이 서버의 채팅방 접속 기록 제거
+     *
+     * @param since 이 시각(ms) 이후에 확인된 다른 서버의 접속 기록만 유효
+     * @return 다른 서버에도 접속 기록이 없으면 true(완전히 퇴장)
+     */
+    public boolean removePresence(Long roomId, Long userId, String node, long since) {
+        Long left = stringRedisTemplate.execute(REMOVE_PRESENCE_SCRIPT, List.of(generatePresenceKey(roomId)),
+                generatePresenceMember(userId, node), Long.toString(since), userId + ":");
+        return left == null || left == 1L;
+    }
+
+
+    /**
+     * since 이후에 확인된 채팅방 접속 사용자를 한 번에 조회
+     *
+     * @return Map(채팅방 아이디, Set(사용자 아이디)) 접속 사용자가 없는 채팅방은 포함하지 않음
+     */
+    public Map<Long, Set<Long>> getPresentUsers(Collection<Long> roomIds, long since) {
+        if (roomIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> rooms = new ArrayList<>(roomIds);
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringRedisConnection = (StringRedisConnection) connection;
+            for (Long roomId : rooms) {
+                stringRedisConnection.zRangeByScore(generatePresenceKey(roomId), since, Double.POSITIVE_INFINITY);
+            }
+            return null;
+        });
+
+        Map<Long, Set<Long>> presentUsers = new HashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            Collection<?> userIds = (Collection<?>) results.get(i);
+            if (userIds == null || userIds.isEmpty()) {
+                continue;
+            }
+            Set<Long> users = new HashSet<>();
+            userIds.forEach(member -> users.add(parsePresenceUserId(member.toString())));
+            presentUsers.put(rooms.get(i), users);
+        }
+        return presentUsers;
+    }
+
+
+    /**
+     * before 이전에 마지막으로 확인된 채팅방 접속 기록 제거
+     *
+     * @return 다른 서버에도 접속 기록이 남아 있지 않아 퇴장한 사용자 아이디
+     */
+    public List<Long> prunePresence(Long roomId, long before) {
+        List<?> stale = stringRedisTemplate.execute(PRUNE_PRESENCE_SCRIPT,
+                List.of(generatePresenceKey(roomId)), Long.toString(before));
+        if (stale == null || stale.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> userIds = new ArrayList<>(stale.size());
+        stale.forEach(userId -> userIds.add(parsePresenceUserId(userId.toString())));
+        return userIds;
+    }
+
+
+    private static Map<Long, Long> toReadIndexes(Map<?, ?> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Long> readIndexes = new HashMap<>();
+        entries.forEach((roomId, messageId) ->
+                readIndexes.put(Long.parseLong(roomId.toString()), Long.parseLong(messageId.toString())));
+        return readIndexes;
+    }
+
+
+    /**
+     * 연속 구간 조회 결과
+     *
+     * @param messages 메세지(아이디 내림차순)
+     * @param floor    연속 구간 하한(없으면 null)
+     */
+    public record CachedHistory(List<ChatMessageDTO> messages, Long floor) {
+    }
+
+
+    // 메세지 해시 필드로 메세지 생성
+    private static ChatMessageDTO toChatMessageDTO(Map<?, ?> entry) {
+        return ChatMessageDTO.builder()
+                .messageId(entry.get("messageId").toString())
+                .roomId(entry.get("roomId").toString())
+                .senderId(Long.parseLong(entry.get("senderId").toString()))
+                .senderNickname(entry.get("senderNickName").toString())
+                .content(entry.get("messageContent").toString())
+                .timestamp(entry.get("sendTime").toString())
+                .build();
+    }
+
+    /**
+     * 메세지 해시에 저장할 필드를 생성합니다.
+     */
+    private static Map<String, String> toMessageInfo(ChatMessageDTO messageDTO) {
+        Map<String, String> messageInfo = new HashMap<>();
+        messageInfo.put("messageId", messageDTO.getMessageId());
+        messageInfo.put("senderId", messageDTO.getSenderId().toString());
+        messageInfo.put("roomId", messageDTO.getRoomId());
+        messageInfo.put("senderNickName", messageDTO.getSenderNickname());
+        messageInfo.put("messageContent", messageDTO.getContent());
+        messageInfo.put("sendTime", messageDTO.getTimestamp());
+        return messageInfo;
+    }
+
+    /**
+     * 메세지 해시 키를 생성합니다. 생성된 키는 'chat_room:{채팅방아이디}:message:{메세지아이디}' 형식을 가집니다.
+     */
+    private static String generateMessageKey(String roomId, String messageId) {
+        return "chat_room:" + roomId + ":message:" + messageId;
+    }
+
+    /**
+     * 채팅방별 메세지 정렬된 세트 키를 생성합니다. 생성된 키는 'chat_room{채팅방아이디}:messages' 형식을 가집니다.
+     */
+    private static String generateRoomMessagesKey(Long roomId) {
+        return String.format("chat_room%d:messages", roomId);
+    }
+
+    /**
+     * 채팅방 연속 구간 하한 키를 생성합니다. 생성된 키는 'chat_room{채팅방아이디}:floor' 형식을 가집니다.
+     */
+    private static String generateRoomFloorKey(Long roomId) {
+        return String.format("chat_room%d:floor", roomId);
+    }
+
+    /**
+     * 메세지 해시 키에서 메세지 아이디를 추출합니다.
+     */
+    private static long parseMessageId(String messageKey) {
+        return Long.parseLong(messageKey.substring(messageKey.lastIndexOf(':') + 1));
+    }
+
+    /**
+     * 채팅방에서 마지막으로 확정된 메세지 아이디 키를 생성합니다. 생성된 키는 'chat_room{채팅방아이디}:last_id' 형식을 가집니다.
+     */
+    private static String generateRoomLastIdKey(Long roomId) {
+        return String.format("chat_room%d:last_id", roomId);
+    }
+
+    /**
+     * 채팅방 마지막 메세지 해시 키를 생성합니다. 생성된 키는 'chat_room{채팅방아이디}:last' 형식을 가집니다.
+     */
+    private static String generateRoomLastMessageKey(Long roomId) {
+        return String.format("chat_room%d:last", roomId);
+    }
+
+
+    /**
+     * 사용자 읽은 위치 해시 키를 생성합니다. 생성된 키는 'chat_read:{사용자아이디}' 형식을 가집니다.
+     */
+    private static String generateReadIndexKey(Long userId) {
+        return "chat_read:" + userId;
+    }
+
+
+    /**
+     * 클라이언트 메세지 아이디 키를 생성합니다. 생성된 키는 'chat_client_message:{채팅방아이디}:{사용자아이디}:{클라이언트메세지아이디}' 형식을 가집니다.
+     */
+    private static String generateClientMessageKey(Long roomId, Long senderId, String clientMessageId) {
+        return "chat_client_message:" + roomId + ":" + senderId + ":" + clientMessageId;
+    }
+
+
+    /**
+     * 채팅방 접속 사용자 정렬된 세트 키를 생성합니다. 생성된 키는 'chat_presence:{채팅방아이디}' 형식을 가집니다.
+     */
+    private static String generatePresenceKey(Long roomId) {
+        return "chat_presence:" + roomId;
+    }
+
+    private static String generatePresenceMember(Long userId, String node) {
+        return userId + ":" + node;
+    }
+
+    private static Long parsePresenceUserId(String member) {
+        int separator = member.indexOf(':');
+        return Long.parseLong(separator < 0 ? member : member.substring(0, separator));
+    }
+
 
     /**
      * 이메일 인증 코드를 저장하는 메소드입니다.
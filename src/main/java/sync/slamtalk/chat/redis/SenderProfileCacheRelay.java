@@ -0,0 +1,82 @@
+package sync.slamtalk.chat.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sync.slamtalk.chat.service.SenderProfileResolver;
+import sync.slamtalk.user.event.UserProfileUpdatedEvent;
+
+import java.io.IOException;
+
+/**
+ * 서버 간 작성자 프로필 캐시 제거 중계(Redis Pub/Sub)
+ *
+ * <p>작성자 프로필 캐시는 서버마다 따로 있으므로, 사용자가 닉네임이나 프로필 이미지를 변경하면 트랜잭션 커밋 후
+ * 사용자 아이디를 Redis 채널에 발행하고 다른 서버는 받아서 자신의 캐시에서 제거합니다.
+ * 자신이 발행한 메세지는 서버 아이디로 걸러냅니다.
+ */
+@Slf4j
+public class SenderProfileCacheRelay implements MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SenderProfileResolver senderProfileResolver;
+    private final String channel;
+    private final String nodeId;
+
+    public SenderProfileCacheRelay(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                                   SenderProfileResolver senderProfileResolver, String channel, String nodeId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.senderProfileResolver = senderProfileResolver;
+        this.channel = channel;
+        this.nodeId = nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * 프로필 변경이 커밋된 뒤 다른 서버로 발행
+     */
+    @TransactionalEventListener(value = UserProfileUpdatedEvent.class, fallbackExecution = true)
+    public void publish(UserProfileUpdatedEvent event) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(
+                    new EvictionEnvelope(nodeId, event.userId())));
+        } catch (Exception e) {
+            // 발행에 실패해도 다른 서버의 캐시는 만료 시간(chat.sender-profile.cache.ttl-seconds) 후 정리
+            log.error("=== 작성자 프로필 캐시 제거 발행 실패 : {} ===", event, e);
+        }
+    }
+
+    /**
+     * 다른 서버에서 발행한 캐시 제거
+     */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+        EvictionEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), EvictionEnvelope.class);
+        } catch (IOException e) {
+            log.error("=== 작성자 프로필 캐시 제거 메세지 파싱 실패 ===", e);
+            return;
+        }
+        if (nodeId.equals(envelope.node())) {
+            return;
+        }
+        senderProfileResolver.evictLocally(envelope.userId());
+    }
+
+    /**
+     * Redis 채널로 주고받는 메세지
+     *
+     * @param node   발행한 서버 아이디
+     * @param userId 프로필을 변경한 사용자 아이디
+     */
+    public record EvictionEnvelope(String node, Long userId) {
+    }
+}
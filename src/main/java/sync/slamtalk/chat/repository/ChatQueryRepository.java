@@ -0,0 +1,101 @@
+package sync.slamtalk.chat.repository;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+import sync.slamtalk.chat.dto.ChatNotificationTargetDto;
+import sync.slamtalk.chat.dto.UnrefinedChatRoomDto;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.querydsl.core.types.Projections.bean;
+import static sync.slamtalk.chat.entity.QChatRoom.chatRoom;
+import static sync.slamtalk.chat.entity.QUserChatRoom.userChatRoom;
+import static sync.slamtalk.notification.model.QNotification.notification;
+import static sync.slamtalk.user.entity.QUser.user;
+
+@Repository
+public class ChatQueryRepository {
+    private final JPAQueryFactory queryFactory;
+
+    public ChatQueryRepository(EntityManager em) {
+        this.queryFactory = new JPAQueryFactory(em);
+    }
+
+    /**
+     * 사용자가 참여 중인 채팅방 목록을 상대방 프로필, 마지막 메세지와 함께 한 번에 조회한다.
+     * 상대방은 directId 로 조인하고, 마지막 메세지는 채팅방의 스냅샷 컬럼을 사용하므로 messages 테이블은 조회하지 않는다.
+     *
+     * @param userId 사용자 아이디
+     * @return List(UnrefinedChatRoomDto)
+     */
+    public List<UnrefinedChatRoomDto> findChatList(Long userId) {
+        return queryFactory
+                .select(bean(UnrefinedChatRoomDto.class,
+                        userChatRoom.id.as("userChatRoomId"),
+                        chatRoom.id.as("roomId"),
+                        userChatRoom.roomType,
+                        chatRoom.name,
+                        chatRoom.basketBallId.as("courtId"),
+                        userChatRoom.togetherId,
+                        userChatRoom.teamMatchingId,
+                        userChatRoom.readIndex,
+                        user.id.as("partnerId"),
+                        user.nickname.as("partnerNickname"),
+                        user.imageUrl.as("partnerImageUrl"),
+                        chatRoom.lastMessageId,
+                        chatRoom.lastMessageContent,
+                        chatRoom.lastMessageTime
+                ))
+                .from(userChatRoom)
+                .join(userChatRoom.chat, chatRoom)
+                .leftJoin(user).on(user.id.eq(userChatRoom.directId))
+                .where(userChatRoom.user.id.eq(userId),
+                        userChatRoom.isDeleted.eq(false))
+                .fetch();
+    }
+
+    /**
+     * 새로운 메세지 알림 대상 사용자 채팅방을 한 번에 조회한다.
+     * 이미 읽지 않은 채팅 알림이 있는 사용자 채팅방은 제외한다.(사용자, 채팅방)당 읽지 않은 알림은 최대 하나
+     *
+     * @param roomIds 새로운 메세지가 발생한 채팅방 아이디 목록
+     * @return List(ChatNotificationTargetDto)
+     */
+    public List<ChatNotificationTargetDto> findNotificationTargets(Collection<Long> roomIds) {
+        return queryFactory
+                .select(bean(ChatNotificationTargetDto.class,
+                        userChatRoom.id.as("userChatRoomId"),
+                        userChatRoom.user.id.as("userId"),
+                        userChatRoom.chat.id.as("roomId"),
+                        userChatRoom.readIndex
+                ))
+                .from(userChatRoom)
+                .where(userChatRoom.chat.id.in(roomIds),
+                        JPAExpressions.selectOne()
+                                .from(notification)
+                                .where(notification.userChatRoom.eq(userChatRoom),
+                                        notification.isRead.eq(false))
+                                .notExists())
+                .fetch();
+    }
+
+    /**
+     * 주어진 채팅방 중 사용자가 참여 중인(나가지 않은) 채팅방 아이디를 한 번에 조회한다.
+     *
+     * @param userId  사용자 아이디
+     * @param roomIds 채팅방 아이디 목록
+     * @return List(채팅방 아이디)
+     */
+    public List<Long> findJoinedRoomIds(Long userId, Collection<Long> roomIds) {
+        return queryFactory
+                .select(userChatRoom.chat.id)
+                .from(userChatRoom)
+                .where(userChatRoom.user.id.eq(userId),
+                        userChatRoom.chat.id.in(roomIds),
+                        userChatRoom.isDeleted.eq(false))
+                .fetch();
+    }
+}
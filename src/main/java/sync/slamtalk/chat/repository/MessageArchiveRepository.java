@@ -0,0 +1,19 @@
+package sync.slamtalk.chat.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import sync.slamtalk.chat.entity.MessageArchive;
+
+import java.util.List;
+
+public interface MessageArchiveRepository extends JpaRepository<MessageArchive, Long> {
+
+
+    /**
+     * 특정 채팅방에서 특정 메세지 아이디 이하의 보관 메세지 조회(최근~과거)
+     */
+    @Query("SELECT m FROM MessageArchive m WHERE m.chatRoomId = :chatRoomId AND m.id <= :messageId ORDER BY m.chatRoomId, m.id DESC")
+    List<MessageArchive> findBeforeByChatRoomId(@Param("chatRoomId") Long chatRoomId, @Param("messageId") Long messageId, Pageable pageable);
+}
@@ -1,53 +1,32 @@
 package sync.slamtalk.chat.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import sync.slamtalk.chat.entity.Messages;
+import sync.slamtalk.chat.repository.custom.CustomMessagesRepository;
 
 import java.util.List;
 
-public interface MessagesRepository extends JpaRepository<Messages, Long> {
+/**
+ * 메세지 조회는 모두 (chatroom_id, message_id DESC) 인덱스를 타는 keyset 방식입니다.
+ * 페이지는 항상 PageRequest.of(0, size) 로 넘기고, 다음 페이지는 마지막으로 받은 메세지 아이디를 기준으로 조회합니다.
+ * 정렬에 chatroom_id 를 함께 적어 인덱스 순서 그대로 읽고 별도 정렬을 하지 않습니다.
+ */
+public interface MessagesRepository extends JpaRepository<Messages, Long>, CustomMessagesRepository {
 
 
     /**
-     * 특정 roomId 에 해당하는 모든 Message 조회(과거~최근)
+     * 특정 채팅방의 가장 최근 메세지부터 조회(최근~과거)
      */
-    List<Messages> findByChatRoomId(Long chatRoomId);
+    @Query("SELECT m FROM Messages m WHERE m.chatRoom.id = :chatRoomId ORDER BY m.chatRoom.id, m.id DESC")
+    List<Messages> findLatestByChatRoomId(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
 
 
     /**
-     * 특정 채팅방의 가장 최근 메시지를 조회
+     * 특정 채팅방에서 특정 메세지 아이디 이하의 메세지 조회(최근~과거)
      */
-    @Query("select m from Messages m where m.chatRoom.id =:chatroom_id order by m.creationTime desc ")
-    Page<Messages> findLatestByChatRoomId(@Param("chatroom_id") Long chatRoomId, Pageable pageable);
-
-
-    /**
-     * 특정 roomId 에 해당하는 모든 Message 조회(최근~과거)
-     */
-    @Query("select m from Messages m where m.chatRoom.id=:chatRoomId order by m.creationTime desc")
-    List<Messages> findAllByChatRoom(@Param("chatRoomId") Long chatRoomId);
-
-
-    /**
-     * 메세지 아이디가 특정 아이디 이상인 메세지 조회
-     */
-    List<Messages> findByChatRoomIdAndIdGreaterThan(Long chatRoomId, Long messageId);
-
-
-    /**
-     * 특정 roomId에서 특정 MessageId 보다 작은 MessageId 를 가진 메세지 조회
-     */
-    @Query("SELECT m FROM Messages m WHERE m.chatRoom.id = :chatRoomId AND m.id <= :messageId ORDER BY m.id DESC")
-    List<Messages> findByChatRoomIdAndMessageIdLessThanOrderedByMessageIdDesc(Long chatRoomId, Long messageId, Pageable pageable);
-
-
-    /**
-     * 특정 RoomId로 검색한 후 메세지 30개 가져오기
-     */
-    @Query("SELECT m FROM Messages m WHERE m.chatRoom.id = :chatRoomId ORDER BY m.id DESC")
-    List<Messages> findByChatRoomIdAndMessageIdOrderByMessageIdDesc(@Param("chatRoomId")Long chatRoomId,Pageable pageable);
+    @Query("SELECT m FROM Messages m WHERE m.chatRoom.id = :chatRoomId AND m.id <= :messageId ORDER BY m.chatRoom.id, m.id DESC")
+    List<Messages> findBeforeByChatRoomId(@Param("chatRoomId") Long chatRoomId, @Param("messageId") Long messageId, Pageable pageable);
 }
@@ -5,11 +5,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import sync.slamtalk.chat.entity.RoomType;
 import sync.slamtalk.chat.entity.UserChatRoom;
+import sync.slamtalk.chat.repository.custom.CustomUserChatRoomRepository;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface UserChatRoomRepository extends JpaRepository<UserChatRoom, Long> {
+public interface UserChatRoomRepository extends JpaRepository<UserChatRoom, Long>, CustomUserChatRoomRepository {
 
 
     /**
@@ -31,6 +32,13 @@ public interface UserChatRoomRepository extends JpaRepository<UserChatRoom, Long
     Optional<UserChatRoom> findByUserChatroom(Long userId, Long roomId);
 
 
+    /**
+     * 특정 userId 와 특정 roomId 로 나가지 않은(softDelete 되지 않은) userChatRoom 엔터티 조회
+     */
+    @Query("select m from UserChatRoom m where m.user.id=:userId and m.chat.id=:roomId and m.isDeleted = false")
+    Optional<UserChatRoom> findActiveByUserChatroom(Long userId, Long roomId);
+
+
     /**
      * 특정 chatRoomName , 특정 chatRoomType 으로 userChatRoom 엔터티 조회
      */
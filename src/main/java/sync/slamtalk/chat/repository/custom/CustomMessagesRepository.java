@@ -0,0 +1,24 @@
+package sync.slamtalk.chat.repository.custom;
+
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CustomMessagesRepository {
+
+    /**
+     * 메세지 일괄 등록
+     * @param messages 아이디가 발급된 메세지 목록
+     */
+    void insertMessages(List<ChatMessageDTO> messages);
+
+
+    /**
+     * 여러 채팅방에서 기준 메세지 아이디 이후의 메세지를 채팅방마다 최대 limitPerRoom 개씩 조회
+     * @param lastMessageIds Map(채팅방 아이디, 기준 메세지 아이디(미포함))
+     * @param limitPerRoom   채팅방별 최대 조회 갯수
+     * @return List(ChatMessageDTO) 채팅방 아이디, 메세지 아이디 오름차순
+     */
+    List<ChatMessageDTO> findAfterByChatRoomIds(Map<Long, Long> lastMessageIds, int limitPerRoom);
+}
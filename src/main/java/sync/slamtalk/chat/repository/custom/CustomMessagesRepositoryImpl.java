@@ -0,0 +1,110 @@
+package sync.slamtalk.chat.repository.custom;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CustomMessagesRepositoryImpl implements CustomMessagesRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String UPDATE_LAST_MESSAGE_SQL = "UPDATE chatroom SET last_message_id = ?, last_message_content = ?, last_message_time = ? WHERE chatroom_id = ? AND (last_message_id IS NULL OR last_message_id < ?)";
+
+    private static final String FIND_AFTER_SQL = "SELECT t.message_id, t.chatroom_id, t.sender_id, t.sender_nickname, t.content, t.creation_time FROM (SELECT m.message_id, m.chatroom_id, m.sender_id, m.sender_nickname, m.content, m.creation_time, ROW_NUMBER() OVER (PARTITION BY m.chatroom_id ORDER BY m.message_id) AS rn FROM messages m WHERE %s) t WHERE t.rn <= ? ORDER BY t.chatroom_id, t.message_id";
+
+    private static final String INSERT_MESSAGES_SQL = "INSERT INTO messages (message_id, chatroom_id, sender_id, sender_nickname, content, creation_time, is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, false, NOW(), NOW())";
+
+
+    /**
+     * 메세지 일괄 등록
+     * <p>JdbcTemplate 의 batchUpdate 로 여러 메세지를 한 번에 등록합니다.
+     * 메세지 아이디는 MessageIdGenerator 로 미리 발급되어 있어야 합니다.
+     * 같은 트랜잭션에서 채팅방별 마지막 메세지 스냅샷(chatroom.last_message_*)도 갱신합니다.
+     * 하나의 트랜잭션으로 묶여 있어 실패 시 배치 전체가 롤백되므로 그대로 재시도할 수 있습니다.
+     *
+     * @param messages 아이디가 발급된 메세지 목록
+     */
+    @Override
+    @Transactional
+    public void insertMessages(List<ChatMessageDTO> messages) {
+        List<Object[]> parameters = new ArrayList<>(messages.size());
+        for (ChatMessageDTO message : messages) {
+            parameters.add(new Object[]{
+                    Long.parseLong(message.getMessageId()),
+                    Long.parseLong(message.getRoomId()),
+                    message.getSenderId(),
+                    message.getSenderNickname(),
+                    message.getContent(),
+                    message.getTimestamp()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MESSAGES_SQL, parameters);
+
+        // 채팅방별 가장 최근 메세지로 스냅샷 갱신(더 최신 메세지가 이미 반영된 경우 무시)
+        Map<String, ChatMessageDTO> latestByRoom = new HashMap<>();
+        for (ChatMessageDTO message : messages) {
+            latestByRoom.merge(message.getRoomId(), message,
+                    (a, b) -> Long.parseLong(a.getMessageId()) >= Long.parseLong(b.getMessageId()) ? a : b);
+        }
+        List<Object[]> lastMessages = new ArrayList<>(latestByRoom.size());
+        for (ChatMessageDTO message : latestByRoom.values()) {
+            long messageId = Long.parseLong(message.getMessageId());
+            lastMessages.add(new Object[]{
+                    messageId,
+                    message.getContent(),
+                    message.getTimestamp(),
+                    Long.parseLong(message.getRoomId()),
+                    messageId
+            });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_SQL, lastMessages);
+        log.debug("=== 메세지 {}건 일괄 저장 완료 ===", messages.size());
+    }
+
+
+    /**
+     * 여러 채팅방의 새 메세지 조회
+     * <p>채팅방마다 (chatroom_id = ? AND message_id > ?) 조건을 OR 로 묶어 한 번의 쿼리로 조회하고,
+     * ROW_NUMBER 로 채팅방별 앞에서부터 limitPerRoom 개만 남깁니다.
+     * 각 조건은 (chatroom_id, message_id DESC) 인덱스의 범위 조회이므로 채팅방 수만큼 범위를 읽습니다.
+     *
+     * @param lastMessageIds Map(채팅방 아이디, 기준 메세지 아이디(미포함))
+     * @param limitPerRoom   채팅방별 최대 조회 갯수
+     * @return List(ChatMessageDTO) 채팅방 아이디, 메세지 아이디 오름차순
+     */
+    @Override
+    public List<ChatMessageDTO> findAfterByChatRoomIds(Map<Long, Long> lastMessageIds, int limitPerRoom) {
+        if (lastMessageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        StringJoiner conditions = new StringJoiner(" OR ");
+        List<Object> parameters = new ArrayList<>(lastMessageIds.size() * 2 + 1);
+        lastMessageIds.forEach((roomId, messageId) -> {
+            conditions.add("(m.chatroom_id = ? AND m.message_id > ?)");
+            parameters.add(roomId);
+            parameters.add(messageId);
+        });
+        parameters.add(limitPerRoom);
+
+        return jdbcTemplate.query(String.format(FIND_AFTER_SQL, conditions), (rs, rowNum) -> ChatMessageDTO.builder()
+                .messageId(Long.toString(rs.getLong("message_id")))
+                .roomId(Long.toString(rs.getLong("chatroom_id")))
+                .senderId(rs.getObject("sender_id", Long.class))
+                .senderNickname(rs.getString("sender_nickname"))
+                .content(rs.getString("content"))
+                .timestamp(rs.getString("creation_time"))
+                .build(), parameters.toArray());
+    }
+}
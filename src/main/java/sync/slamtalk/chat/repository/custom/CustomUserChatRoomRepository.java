@@ -0,0 +1,21 @@
+package sync.slamtalk.chat.repository.custom;
+
+import sync.slamtalk.chat.entity.UserChatRoom;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CustomUserChatRoomRepository {
+
+    /**
+     * 읽은 위치 일괄 갱신
+     * @param readIndexes Map(사용자 아이디, Map(채팅방 아이디, 메세지 아이디))
+     */
+    void updateReadIndexes(Map<Long, Map<Long, Long>> readIndexes);
+
+    /**
+     * 사용자 채팅방 일괄 등록
+     * @param userChatRooms 저장되지 않은 사용자 채팅방(user, chat 은 저장된 엔티티)
+     */
+    void insertUserChatRooms(List<UserChatRoom> userChatRooms);
+}
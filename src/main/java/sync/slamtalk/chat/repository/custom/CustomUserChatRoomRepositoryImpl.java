@@ -0,0 +1,75 @@
+package sync.slamtalk.chat.repository.custom;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import sync.slamtalk.chat.entity.UserChatRoom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CustomUserChatRoomRepositoryImpl implements CustomUserChatRoomRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String UPDATE_READ_INDEX_SQL = "UPDATE user_chatroom SET read_index = ? WHERE user_id = ? AND chatroom_id = ? AND (read_index IS NULL OR read_index < ?)";
+
+    private static final String INSERT_USER_CHATROOM_SQL = "INSERT INTO user_chatroom (user_id, chatroom_id, chatroom_name, chatroom_type, together_id, team_matching_id, direct_id, read_index, is_first, is_deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, NOW(), NOW())";
+
+
+    /**
+     * 읽은 위치 일괄 갱신
+     * <p>JdbcTemplate 의 batchUpdate 로 여러 사용자 채팅방의 read_index 를 한 번에 갱신합니다.
+     * 저장된 값보다 큰 경우에만 갱신하므로 순서가 뒤바뀌어 반영되어도 읽은 위치가 뒤로 가지 않습니다.
+     *
+     * @param readIndexes Map(사용자 아이디, Map(채팅방 아이디, 메세지 아이디))
+     */
+    @Override
+    @Transactional
+    public void updateReadIndexes(Map<Long, Map<Long, Long>> readIndexes) {
+        List<Object[]> parameters = new ArrayList<>();
+        readIndexes.forEach((userId, rooms) -> rooms.forEach((roomId, messageId) ->
+                parameters.add(new Object[]{messageId, userId, roomId, messageId})));
+        if (parameters.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_READ_INDEX_SQL, parameters);
+    }
+
+
+    /**
+     * 사용자 채팅방 일괄 등록
+     * <p>채팅방 생성 시 참여자 수만큼의 user_chatroom 을 JdbcTemplate 의 batchUpdate 로 한 번에 등록합니다.
+     * 영속성 컨텍스트를 거치지 않으므로 등록한 엔티티의 아이디는 채워지지 않습니다.
+     *
+     * @param userChatRooms 저장되지 않은 사용자 채팅방(user, chat 은 저장된 엔티티)
+     */
+    @Override
+    @Transactional
+    public void insertUserChatRooms(List<UserChatRoom> userChatRooms) {
+        if (userChatRooms.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> parameters = new ArrayList<>(userChatRooms.size());
+        for (UserChatRoom ucr : userChatRooms) {
+            parameters.add(new Object[]{
+                    ucr.getUser().getId(),
+                    ucr.getChat().getId(),
+                    ucr.getName(),
+                    ucr.getRoomType().name(),
+                    ucr.getTogetherId(),
+                    ucr.getTeamMatchingId(),
+                    ucr.getDirectId(),
+                    ucr.getReadIndex(),
+                    ucr.getIsFirst()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_CHATROOM_SQL, parameters);
+    }
+}
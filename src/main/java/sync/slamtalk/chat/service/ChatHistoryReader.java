@@ -0,0 +1,150 @@
+package sync.slamtalk.chat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.entity.MessageArchive;
+import sync.slamtalk.chat.entity.Messages;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.redis.RedisService.CachedHistory;
+import sync.slamtalk.chat.repository.MessageArchiveRepository;
+import sync.slamtalk.chat.repository.MessagesRepository;
+import sync.slamtalk.chat.service.SenderProfileResolver.SenderProfile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 내역 조회기(Redis -> DB -> 보관 테이블)
+ *
+ * <p>메세지 아이디 기준으로 페이지를 나누어 조회합니다.
+ * <ol>
+ *     <li>Redis 의 연속 구간에서 가능한 만큼 가져온다.</li>
+ *     <li>모자란 부분은 마지막으로 가져온 메세지 아이디 아래로 DB 에서 한 번의 keyset 쿼리로 가져온다.</li>
+ *     <li>그래도 모자라면 같은 조건으로 보관 테이블(messages_archive)에서 가져온다.</li>
+ *     <li>DB 에서 가져온 구간이 Redis 연속 구간과 맞닿아 있으면 한 번의 파이프라인으로 캐싱한다.</li>
+ * </ol>
+ * 반환되는 페이지는 메세지 아이디 내림차순이며 중복이 없습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatHistoryReader {
+
+    private static final long CACHE_TIMEOUT_SECONDS = 43200; // 12시간
+
+    private final RedisService redisService;
+    private final MessagesRepository messagesRepository;
+    private final MessageArchiveRepository messageArchiveRepository;
+    private final SenderProfileResolver senderProfileResolver;
+
+    /**
+     * fromMessageId 이하의 메세지를 최신순으로 최대 size 개 조회한다.
+     *
+     * @param roomId        채팅방 아이디
+     * @param fromMessageId 기준 메세지 아이디(포함), null 이면 가장 최신 메세지부터
+     * @param size          페이지 크기
+     * @return List(ChatMessageDTO) 메세지 아이디 내림차순
+     */
+    public List<ChatMessageDTO> readBefore(Long roomId, Long fromMessageId, int size) {
+        boolean fromLatest = fromMessageId == null;
+        long from = fromLatest ? Long.MAX_VALUE : fromMessageId;
+
+        // redis 먼저 조회
+        CachedHistory cached = redisService.getContiguousMessages(roomId, from, size);
+        List<ChatMessageDTO> page = new ArrayList<>(cached.messages());
+        log.debug("=== redis 에서 가져온 메세지 : {}건 ===", page.size());
+
+        // 모자란 만큼 DB 에서 조회
+        if (page.size() < size) {
+            int need = size - page.size();
+            long bound = page.isEmpty()
+                    ? from
+                    : Long.parseLong(page.get(page.size() - 1).getMessageId()) - 1;
+
+            List<Messages> rows = messagesRepository.findBeforeByChatRoomId(
+                    roomId, bound, PageRequest.of(0, need));
+            List<ChatMessageDTO> loaded = new ArrayList<>(need);
+            rows.forEach(m -> loaded.add(toChatMessageDTO(m)));
+            log.debug("=== DB 에서 가져온 메세지 : {}건 ===", rows.size());
+
+            // 보관 테이블 조회
+            // 보관 중 옮겨지는 메세지가 있을 수 있으므로 같은 상한으로 조회해서 합친다.
+            if (rows.size() < need) {
+                List<MessageArchive> archived = messageArchiveRepository.findBeforeByChatRoomId(
+                        roomId, bound, PageRequest.of(0, need));
+                archived.forEach(m -> loaded.add(toChatMessageDTO(m)));
+                loaded.sort(Comparator.comparingLong((ChatMessageDTO m) -> Long.parseLong(m.getMessageId())).reversed());
+                log.debug("=== 보관 테이블에서 가져온 메세지 : {}건 ===", archived.size());
+            }
+            List<ChatMessageDTO> merged = new ArrayList<>(new LinkedHashSet<>(loaded));
+            if (merged.size() > need) {
+                merged = new ArrayList<>(merged.subList(0, need));
+            }
+            page.addAll(merged);
+
+            backfill(roomId, cached.floor(), merged, bound, merged.size() < need, fromLatest);
+        }
+
+        // 작성자 이미지 한 번에 채우기
+        Map<Long, SenderProfile> profiles = senderProfileResolver.resolve(
+                page.stream().map(ChatMessageDTO::getSenderId).toList());
+        for (ChatMessageDTO message : page) {
+            SenderProfile profile = profiles.get(message.getSenderId());
+            message.setImgUrl(profile != null ? profile.imageUrl() : null);
+        }
+
+        // 중복 제거(메세지 아이디 기준, 순서 유지)
+        return new ArrayList<>(new LinkedHashSet<>(page));
+    }
+
+
+    /**
+     * DB 에서 가져온 구간이 Redis 연속 구간과 맞닿아 있는 경우에만 캐싱한다.
+     * 맞닿지 않은 구간은 캐싱해도 연속 구간으로 쓸 수 없으므로 저장하지 않는다.
+     *
+     * @param floor        조회 시점의 연속 구간 하한(없으면 null)
+     * @param loaded       DB 에서 가져온 메세지(아이디 내림차순)
+     * @param bound        DB 조회 상한(포함)
+     * @param reachedStart 채팅방의 첫 메세지까지 모두 가져왔는지 여부
+     * @param fromLatest   최신 메세지부터 조회했는지 여부
+     */
+    private void backfill(Long roomId, Long floor, List<ChatMessageDTO> loaded, long bound,
+                          boolean reachedStart, boolean fromLatest) {
+        boolean adjacent = floor != null ? bound >= floor - 1 : fromLatest;
+        if (!adjacent || (loaded.isEmpty() && !reachedStart)) {
+            return;
+        }
+
+        long coveredFrom = reachedStart ? 0L : Long.parseLong(loaded.get(loaded.size() - 1).getMessageId());
+        redisService.cacheHistory(roomId, loaded, coveredFrom, bound, fromLatest, CACHE_TIMEOUT_SECONDS);
+    }
+
+
+    private static ChatMessageDTO toChatMessageDTO(Messages m) {
+        return ChatMessageDTO.builder()
+                .messageId(m.getId().toString())
+                .roomId(m.getChatRoom().getId().toString())
+                .senderId(m.getSenderId())
+                .senderNickname(m.getSenderNickname())
+                .content(m.getContent())
+                .timestamp(m.getCreationTime())
+                .build();
+    }
+
+    private static ChatMessageDTO toChatMessageDTO(MessageArchive m) {
+        return ChatMessageDTO.builder()
+                .messageId(m.getId().toString())
+                .roomId(m.getChatRoomId().toString())
+                .senderId(m.getSenderId())
+                .senderNickname(m.getSenderNickname())
+                .content(m.getContent())
+                .timestamp(m.getCreationTime())
+                .build();
+    }
+}
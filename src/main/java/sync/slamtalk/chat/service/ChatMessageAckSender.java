@@ -0,0 +1,48 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.stereotype.Component;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+
+/**
+ * 메세지 저장 확인 응답
+ *
+ * <p>clientMessageId 를 붙여 보낸 메세지는 저장 후 보낸 세션에만 /user/sub/ack/chat/{roomId} 로
+ * 발급한 메세지 아이디를 담아 확인 응답을 보냅니다.
+ * 이미 처리한 clientMessageId 로 다시 보낸 메세지는 채팅방에 다시 발행하지 않고, 처음 발급한 메세지 아이디로 확인 응답만 보냅니다.
+ * 다른 서버로 중계되지 않도록 /sub/chat/ 아래가 아닌 경로를 사용합니다.
+ */
+@Slf4j
+@Component
+public class ChatMessageAckSender {
+
+    public static final String ACK_DESTINATION_PREFIX = "/sub/ack/chat/";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    // 메세지 브로커 설정이 이 컴포넌트를 사용하는 인터셉터를 참조하므로 지연 주입
+    public ChatMessageAckSender(@Lazy SimpMessageSendingOperations messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * 보낸 세션에만 확인 응답
+     *
+     * @param sessionId 메세지를 보낸 세션 아이디
+     * @param userName  세션의 사용자 이름(Principal)
+     * @param message   저장했거나 재전송된 메세지(roomId, clientMessageId, messageId 포함)
+     */
+    public void acknowledge(String sessionId, String userName, ChatMessageDTO message) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId(sessionId);
+        headerAccessor.setLeaveMutable(true);
+
+        messagingTemplate.convertAndSendToUser(userName, ACK_DESTINATION_PREFIX + message.getRoomId(),
+                message, headerAccessor.getMessageHeaders());
+        log.debug("=== 확인 응답 : {} -> {} ===", message.getClientMessageId(), message.getMessageId());
+    }
+}
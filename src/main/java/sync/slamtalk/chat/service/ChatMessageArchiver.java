@@ -0,0 +1,116 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 오래된 메세지 보관
+ *
+ * <p>chat.archive.enabled=true 이면 chat.archive.interval-ms 마다 chat.archive.age-days 보다 오래된 메세지를
+ * messages 테이블에서 messages_archive 테이블로 옮깁니다.
+ * messages 테이블과 인덱스를 최근 메세지만큼의 크기로 유지하기 위함이며,
+ * 과거 메세지 조회는 {@link ChatHistoryReader} 가 보관 테이블까지 이어서 조회합니다.
+ * <ul>
+ *     <li>메세지 아이디 순서로 batch-size 만큼씩 옮기며, 한 번의 이동(등록 + 삭제)은 하나의 트랜잭션입니다.</li>
+ *     <li>메세지 아이디는 시간순으로 발급되므로 기준 시각의 첫 아이디보다 작은 구간만 확인합니다.</li>
+ *     <li>여러 서버가 동시에 실행해도 같은 메세지를 두 번 옮기지 않도록 조회한 행을 잠급니다(SELECT ... FOR UPDATE).
+ *     잠금을 기다린 쪽은 커밋된 최신 상태를 다시 읽으므로 이미 옮겨진 메세지는 조회되지 않습니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.archive.enabled", havingValue = "true")
+public class ChatMessageArchiver {
+
+    private static final String SELECT_OLD_MESSAGES_SQL = "SELECT message_id, chatroom_id, sender_id, sender_nickname, content, creation_time FROM messages WHERE message_id > ? AND message_id < ? AND creation_time < ? ORDER BY message_id LIMIT ? FOR UPDATE";
+
+    private static final String INSERT_ARCHIVE_SQL = "INSERT INTO messages_archive (message_id, chatroom_id, sender_id, sender_nickname, content, creation_time, archive_month) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_MESSAGE_SQL = "DELETE FROM messages WHERE message_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long ageDays;
+    private final int batchSize;
+
+    public ChatMessageArchiver(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${chat.archive.age-days:90}") long ageDays,
+                               @Value("${chat.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.ageDays = ageDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.archive.interval-ms:3600000}")
+    public void archive() {
+        long cutoffMillis = System.currentTimeMillis() - ageDays * 24 * 60 * 60 * 1000;
+        String cutoffTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(cutoffMillis), ZoneId.systemDefault()).toString();
+        long cutoffId = MessageIdGenerator.firstIdAt(cutoffMillis);
+
+        long cursor = 0L;
+        int archived = 0;
+        while (true) {
+            List<Long> ids = archiveBatch(cursor, cutoffId, cutoffTime);
+            archived += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+            cursor = ids.get(ids.size() - 1);
+        }
+        log.info("=== 메세지 보관 완료 : {}건, 기준 {} ===", archived, cutoffTime);
+    }
+
+
+    /**
+     * 한 묶음의 메세지를 보관 테이블로 옮긴다.
+     *
+     * @return 옮긴 메세지 아이디(오름차순)
+     */
+    private List<Long> archiveBatch(long cursor, long cutoffId, String cutoffTime) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> rows = jdbcTemplate.query(SELECT_OLD_MESSAGES_SQL,
+                    (rs, rowNum) -> new Object[]{
+                            rs.getLong("message_id"),
+                            rs.getLong("chatroom_id"),
+                            rs.getObject("sender_id", Long.class),
+                            rs.getString("sender_nickname"),
+                            rs.getString("content"),
+                            rs.getString("creation_time"),
+                            toArchiveMonth(rs.getString("creation_time"))
+                    },
+                    cursor, cutoffId, cutoffTime, batchSize);
+            if (rows.isEmpty()) {
+                return List.<Long>of();
+            }
+
+            List<Long> ids = new ArrayList<>(rows.size());
+            List<Object[]> deletes = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+                deletes.add(new Object[]{row[0]});
+            }
+            jdbcTemplate.batchUpdate(INSERT_ARCHIVE_SQL, rows);
+            jdbcTemplate.batchUpdate(DELETE_MESSAGE_SQL, deletes);
+            return ids;
+        });
+    }
+
+
+    // 작성 시간(yyyy-MM-ddTHH:mm:ss...)에서 yyyyMM 추출
+    private static int toArchiveMonth(String creationTime) {
+        return Integer.parseInt(creationTime.substring(0, 4)) * 100 + Integer.parseInt(creationTime.substring(5, 7));
+    }
+}
@@ -0,0 +1,208 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.MessagesRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메세지 write-behind 저장기
+ *
+ * <p>SEND 프레임을 처리하는 inbound 스레드가 DB 커밋을 기다리지 않도록
+ * 메세지를 제한된 크기의 큐에 넣고, 백그라운드 스레드가 모아서 JDBC batch insert 로 저장합니다.
+ * 저장이 끝난 메세지에 대해 채팅 알림을 생성합니다.
+ *
+ * <ul>
+ *     <li>큐가 가득 차면 offer-timeout 만큼 기다리고, 그래도 자리가 없으면 호출한 스레드에서 직접 저장합니다.(backpressure)</li>
+ *     <li>배치 저장이 재시도 후에도 실패하면 한 건씩 저장해서 실패한 메세지만 골라내고,
+ *     골라낸 메세지는 Redis 의 실패 목록(dead letter)에 만료 없이 보관합니다.</li>
+ *     <li>애플리케이션 종료 시 큐에 남은 메세지를 모두 저장한 뒤 종료합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter implements InitializingBean, DisposableBean {
+
+    private static final int MAX_RETRY = 3;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000L;
+
+    private final MessagesRepository messagesRepository;
+    private final RedisService redisService;
+    private final ChatNotificationServiceImpl chatNotificationService;
+    private final BlockingQueue<ChatMessageDTO> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public ChatMessageWriter(MessagesRepository messagesRepository,
+                             RedisService redisService,
+                             ChatNotificationServiceImpl chatNotificationService,
+                             @Value("${chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                             @Value("${chat.write-behind.batch-size:200}") int batchSize,
+                             @Value("${chat.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+                             @Value("${chat.write-behind.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.messagesRepository = messagesRepository;
+        this.redisService = redisService;
+        this.chatNotificationService = chatNotificationService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        writerThread = new Thread(this::run, "chat-message-writer");
+        writerThread.start();
+    }
+
+    /**
+     * 메세지를 저장 대기열에 추가한다.
+     * 대기열이 가득 찬 상태가 지속되거나 종료 중이면 호출한 스레드에서 바로 저장한다.
+     *
+     * @param chatMessageDTO 아이디가 발급된 메세지
+     */
+    public void enqueue(ChatMessageDTO chatMessageDTO) {
+        if (running) {
+            try {
+                if (queue.offer(chatMessageDTO, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                log.warn("=== 메세지 저장 대기열 포화 - 직접 저장 : {} ===", chatMessageDTO.getMessageId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush(List.of(chatMessageDTO));
+    }
+
+    /**
+     * 저장 대기 중인 메세지 수
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<ChatMessageDTO> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatMessageDTO first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 요청 -> 남은 메세지는 destroy 에서 저장
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("=== 메세지 저장 스레드 오류 ===", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ChatMessageDTO> batch) {
+        List<ChatMessageDTO> saved = insertWithRetry(batch) ? batch : insertEach(batch);
+
+        // 저장이 끝난 메세지에 대해서 알림
+        for (ChatMessageDTO dto : saved) {
+            try {
+                chatNotificationService.notificationMessage(
+                        Long.parseLong(dto.getMessageId()),
+                        Long.parseLong(dto.getRoomId()),
+                        dto.getSenderId());
+            } catch (Exception e) {
+                log.error("=== 메세지 알림 생성 실패 : {} ===", dto.getMessageId(), e);
+            }
+        }
+    }
+
+    private boolean insertWithRetry(List<ChatMessageDTO> batch) {
+        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
+            try {
+                messagesRepository.insertMessages(batch);
+                return true;
+            } catch (Exception e) {
+                log.warn("=== 메세지 {}건 저장 실패 ({}/{}) ===", batch.size(), attempt, MAX_RETRY, e);
+                try {
+                    Thread.sleep(flushIntervalMs * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 배치 저장이 최종 실패한 경우 한 건씩 저장해서 실패한 메세지만 골라낸다.
+     * 실패한 메세지는 Redis 실패 목록에 보관한다.
+     *
+     * @return 저장된 메세지
+     */
+    private List<ChatMessageDTO> insertEach(List<ChatMessageDTO> batch) {
+        List<ChatMessageDTO> saved = new ArrayList<>(batch.size());
+        List<ChatMessageDTO> failed = new ArrayList<>();
+        for (ChatMessageDTO dto : batch) {
+            try {
+                messagesRepository.insertMessages(List.of(dto));
+                saved.add(dto);
+            } catch (Exception e) {
+                log.warn("=== 메세지 저장 실패 : {} ===", dto.getMessageId(), e);
+                failed.add(dto);
+            }
+        }
+        if (failed.isEmpty()) {
+            return saved;
+        }
+
+        List<String> failedIds = failed.stream().map(ChatMessageDTO::getMessageId).toList();
+        try {
+            redisService.pushDeadLetterMessages(failed);
+            log.error("=== 메세지 저장 최종 실패 - 실패 목록에 보관 : {} ===", failedIds);
+        } catch (Exception e) {
+            log.error("=== 메세지 저장 최종 실패 - 실패 목록 보관도 실패 : {} ===", failedIds, e);
+        }
+        return saved;
+    }
+
+    /**
+     * 종료 시 대기열에 남은 메세지를 모두 저장한다.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        if (writerThread.isAlive()) {
+            writerThread.interrupt();
+            writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        }
+
+        List<ChatMessageDTO> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.debug("=== 메세지 저장기 종료, 남은 메세지 {}건 저장 ===", remaining.size());
+    }
+}
@@ -2,68 +2,158 @@ package sync.slamtalk.chat.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import sync.slamtalk.chat.entity.UserChatRoom;
-import sync.slamtalk.chat.repository.UserChatRoomRepository;
+import sync.slamtalk.chat.dto.ChatNotificationTargetDto;
+import sync.slamtalk.chat.repository.ChatQueryRepository;
 import sync.slamtalk.notification.NotificationSender;
-import sync.slamtalk.notification.dto.request.ChatNotificationRequest;
-import sync.slamtalk.notification.model.Notification;
+import sync.slamtalk.notification.dto.request.GroupedChatNotificationRequest;
 import sync.slamtalk.notification.model.NotificationType;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 채팅 메세지 알림
+ *
+ * <p>메세지마다 알림을 만들지 않고 채팅방별로 모아 두었다가 chat.notification.coalesce-window-ms 마다 한 번에 생성합니다.
+ * <ul>
+ *     <li>(사용자, 채팅방)당 읽지 않은 채팅 알림은 최대 하나만 유지합니다.</li>
+ *     <li>모인 기간 동안 자신이 보낸 메세지만 있는 사용자에게는 알림을 만들지 않습니다.</li>
+ *     <li>채팅방을 보고 있는 사용자({@link ChatPresenceService})에게는 알림을 만들지 않습니다.</li>
+ *     <li>모든 채팅방의 대상 조회는 한 번의 쿼리, 알림 등록은 한 번의 batch insert 로 처리합니다.</li>
+ * </ul>
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ChatNotificationServiceImpl implements ChatNotificationService{
+public class ChatNotificationServiceImpl implements ChatNotificationService, DisposableBean {
 
-    private final UserChatRoomRepository userChatRoomRepository;
+    private final ChatQueryRepository chatQueryRepository;
     private final MessageService messageService;
     private final NotificationSender notificationSender;
+    private final ChatReadIndexStore chatReadIndexStore;
+    private final ChatPresenceService chatPresenceService;
+
+    // 알림 생성을 기다리는 채팅방
+    private final Map<Long, PendingRoom> pendingRooms = new ConcurrentHashMap<>();
 
 
     @Override
-    @Transactional
     public void notificationMessage(Long lastMessageId, Long roomId, Long userId) {
+        pendingRooms.merge(roomId, PendingRoom.of(lastMessageId, userId), PendingRoom::merge);
+    }
 
-        log.debug("=== notificationMessage 들어왔따 ===");
 
-        // 새로운 메세지가 발생한 채팅방
-        List<UserChatRoom> userChatRooms = userChatRoomRepository.findByChat_Id(roomId);
-        for(UserChatRoom u : userChatRooms){
+    /**
+     * 모아 둔 채팅방의 알림을 한 번에 생성
+     */
+    @Scheduled(fixedDelayString = "${chat.notification.coalesce-window-ms:500}")
+    public void flush() {
+        if (pendingRooms.isEmpty()) {
+            return;
+        }
+        Map<Long, PendingRoom> rooms = new HashMap<>();
+        for (Long roomId : pendingRooms.keySet()) {
+            PendingRoom room = pendingRooms.remove(roomId);
+            if (room != null) {
+                rooms.put(roomId, room);
+            }
+        }
+        if (rooms.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<GroupedChatNotificationRequest> requests = createRequests(rooms);
+            notificationSender.sendAll(requests);
+            log.debug("=== 채팅 알림 생성 : {}개 채팅방 ===", requests.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 생성(그 사이에 도착한 메세지와 합침)
+            rooms.forEach((roomId, room) -> pendingRooms.merge(roomId, room, PendingRoom::merge));
+            log.error("=== 채팅 알림 생성 실패 : {} ===", rooms.keySet(), e);
+        }
+    }
+
+
+    private List<GroupedChatNotificationRequest> createRequests(Map<Long, PendingRoom> rooms) {
+        // 읽지 않은 알림이 없는 사용자 채팅방만 조회
+        List<ChatNotificationTargetDto> candidates = chatQueryRepository.findNotificationTargets(rooms.keySet());
+        // 아직 DB 에 반영되지 않은 읽은 위치 반영
+        chatReadIndexStore.overlay(candidates);
+        // 채팅방을 보고 있는 사용자
+        Map<Long, Set<Long>> presentUsers = chatPresenceService.getPresentUsers(rooms.keySet());
+
+        Map<Long, Map<Long, Long>> targetsByRoom = new HashMap<>();
+        for (ChatNotificationTargetDto target : candidates) {
+            PendingRoom room = rooms.get(target.getRoomId());
+
             // 메세지를 보낸 유저는 알림 생성안함
-            if(u.getUser().getId().equals(userId)){
+            if (!room.notifies(target.getUserId())) {
+                continue;
+            }
+            // 채팅방을 보고 있는 유저는 알림 생성안함
+            if (presentUsers.getOrDefault(target.getRoomId(), Set.of()).contains(target.getUserId())) {
                 continue;
             }
             // userChatRoom 의 readIndex 보다 채팅방에 도착한 마지막 메세지 아이디가 더 큰 경우 -> 새로운 메세지 알림
-            boolean shouldNotify = u.getReadIndex() < lastMessageId || u.getNotifications().isEmpty();
-            if(shouldNotify){
-                log.debug("=== 새로운 메세지가 발생했다 ===");
-                List<Notification> notifications = u.getNotifications();
-                if(notifications.isEmpty()){
-                    log.debug("생성된 알림이 없음");
-                    // 읽었다 -> 생성함
-                    String message = messageService.newMessage(roomId,userId);
-                    String uri = messageService.getPath(roomId);
-                    ChatNotificationRequest req = ChatNotificationRequest.of(message,uri, Set.of(u.getUser().getId()),u.getId(),null, NotificationType.CHAT);
-                    notificationSender.send(req);
-                }
-                for(Notification noty : notifications){
-                    log.debug("=== notification 도는중 === ");
-                    if(noty.isRead()){
-                        // 읽었다 -> 생성함
-                        String message = messageService.newMessage(roomId,userId);
-                        String uri = messageService.getPath(roomId);
-                        ChatNotificationRequest req = ChatNotificationRequest.of(message,uri,Set.of(u.getUser().getId()),u.getId(),null,NotificationType.CHAT);
-                        notificationSender.send(req);
-                    }else{
-                        // 읽지 않았다 -> 생성 안함
-                    }
-                }
+            long readIndex = target.getReadIndex() == null ? 0L : target.getReadIndex();
+            if (readIndex >= room.lastMessageId()) {
+                continue;
             }
+            targetsByRoom.computeIfAbsent(target.getRoomId(), k -> new HashMap<>())
+                    .put(target.getUserId(), target.getUserChatRoomId());
+        }
+
+        List<GroupedChatNotificationRequest> requests = new ArrayList<>(targetsByRoom.size());
+        targetsByRoom.forEach((roomId, targets) -> {
+            String message = messageService.newMessage(roomId, rooms.get(roomId).lastSenderId());
+            String uri = messageService.getPath(roomId);
+            requests.add(GroupedChatNotificationRequest.of(message, uri, targets, null, NotificationType.CHAT));
+        });
+        return requests;
+    }
+
+
+    /**
+     * 종료 시 모아 둔 알림 생성
+     */
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+
+    /**
+     * 알림 생성을 기다리는 채팅방
+     *
+     * @param lastMessageId 모인 메세지 중 가장 최근 메세지 아이디
+     * @param lastSenderId  가장 최근 메세지를 보낸 사용자 아이디
+     * @param senderIds     모인 메세지를 보낸 사용자 아이디
+     */
+    private record PendingRoom(long lastMessageId, Long lastSenderId, Set<Long> senderIds) {
+
+        static PendingRoom of(Long messageId, Long senderId) {
+            return new PendingRoom(messageId, senderId, Set.of(senderId));
         }
 
+        PendingRoom merge(PendingRoom other) {
+            Set<Long> senders = new HashSet<>(senderIds);
+            senders.addAll(other.senderIds);
+            return lastMessageId >= other.lastMessageId
+                    ? new PendingRoom(lastMessageId, lastSenderId, senders)
+                    : new PendingRoom(other.lastMessageId, other.lastSenderId, senders);
+        }
+
+        // 다른 사용자가 보낸 메세지가 하나라도 있으면 알림 대상
+        boolean notifies(Long userId) {
+            return senderIds.size() > 1 || !senderIds.contains(userId);
+        }
     }
 }
@@ -0,0 +1,223 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import sync.slamtalk.chat.dto.response.ChatPresenceDTO;
+import sync.slamtalk.chat.dto.response.ChatPresenceDTO.PresenceType;
+import sync.slamtalk.chat.redis.RedisService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방 접속(presence)/입력 중(typing) 상태
+ *
+ * <p>채팅방 메세지(/sub/chat/room/{roomId})를 구독한 사용자를 Redis 정렬된 세트 'chat_presence:{채팅방아이디}' 에
+ * 서버별로('사용자아이디:서버아이디') 마지막 확인 시각을 점수로 기록합니다.
+ * <ul>
+ *     <li>구독 시 추가하고, 구독 해제/뒤로 가기/연결 종료 시 제거합니다.</li>
+ *     <li>같은 사용자가 여러 서버에 연결되어 있으면 처음 들어온 서버에서만 입장을, 모든 서버에서 나간 뒤에만 퇴장을 발행합니다.</li>
+ *     <li>이 서버에 연결된 세션의 사용자는 chat.presence.heartbeat-ms 마다 확인 시각을 갱신하며,
+ *     chat.presence.timeout-ms 동안 갱신되지 않은 사용자(다른 서버가 비정상 종료된 경우 등)는 제거합니다.</li>
+ *     <li>입장/퇴장/입력 중 변경 사항은 /sub/chat/presence/{roomId} 로 발행합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ChatPresenceService {
+
+    public static final String PRESENCE_DESTINATION_PREFIX = "/sub/chat/presence/";
+
+    private final RedisService redisService;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final long timeoutMillis;
+    private final String nodeId;
+
+    // 세션별 구독(Map(구독 아이디, 채팅방 아이디))
+    private final Map<String, Map<String, Long>> subscriptions = new ConcurrentHashMap<>();
+    // 세션별 사용자 아이디
+    private final Map<String, Long> sessionUsers = new ConcurrentHashMap<>();
+    // 이 서버에서 (채팅방, 사용자)를 구독 중인 세션 수
+    private final Map<Presence, Integer> localCounts = new ConcurrentHashMap<>();
+
+    // 메세지 브로커 설정이 이 서비스를 사용하는 인터셉터를 참조하므로 지연 주입
+    public ChatPresenceService(RedisService redisService,
+                               @Lazy SimpMessageSendingOperations messagingTemplate,
+                               @Value("${chat.presence.timeout-ms:30000}") long timeoutMillis,
+                               @Value("${chat.broker.node-id:}") String nodeId) {
+        this.redisService = redisService;
+        this.messagingTemplate = messagingTemplate;
+        this.timeoutMillis = timeoutMillis;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+
+    /**
+     * 채팅방 메세지 구독
+     */
+    public void join(String sessionId, String subscriptionId, Long userId, Long roomId) {
+        sessionUsers.put(sessionId, userId);
+        Long previous = subscriptions.computeIfAbsent(sessionId, k -> new ConcurrentHashMap<>())
+                .put(subscriptionId, roomId);
+        if (previous != null) {
+            return;
+        }
+
+        int count = localCounts.merge(new Presence(roomId, userId), 1, Integer::sum);
+        long now = System.currentTimeMillis();
+        boolean first = redisService.addPresence(roomId, userId, nodeId, now, now - timeoutMillis, presenceTtlSeconds());
+        if (count == 1 && first) {
+            publish(roomId, userId, PresenceType.JOIN);
+        }
+    }
+
+
+    /**
+     * 구독 해제
+     */
+    public void leave(String sessionId, String subscriptionId) {
+        Map<String, Long> rooms = subscriptions.get(sessionId);
+        Long userId = sessionUsers.get(sessionId);
+        if (rooms == null || userId == null) {
+            return;
+        }
+        Long roomId = rooms.remove(subscriptionId);
+        if (roomId != null) {
+            release(new Presence(roomId, userId));
+        }
+    }
+
+
+    /**
+     * 뒤로 가기(채팅방 화면에서 나감)
+     */
+    public void leaveRoom(String sessionId, Long roomId) {
+        Map<String, Long> rooms = subscriptions.get(sessionId);
+        Long userId = sessionUsers.get(sessionId);
+        if (rooms == null || userId == null) {
+            return;
+        }
+        List<String> subscriptionIds = new ArrayList<>();
+        rooms.forEach((subscriptionId, subscribedRoomId) -> {
+            if (subscribedRoomId.equals(roomId)) {
+                subscriptionIds.add(subscriptionId);
+            }
+        });
+        for (String subscriptionId : subscriptionIds) {
+            if (rooms.remove(subscriptionId) != null) {
+                release(new Presence(roomId, userId));
+            }
+        }
+    }
+
+
+    /**
+     * 연결 종료(DISCONNECT 프레임, 비정상 종료 모두)
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    public void disconnect(String sessionId) {
+        Map<String, Long> rooms = subscriptions.remove(sessionId);
+        Long userId = sessionUsers.remove(sessionId);
+        if (rooms == null || userId == null) {
+            return;
+        }
+        rooms.values().forEach(roomId -> release(new Presence(roomId, userId)));
+    }
+
+
+    /**
+     * 입력 중
+     */
+    public void typing(Long userId, Long roomId) {
+        publish(roomId, userId, PresenceType.TYPING);
+    }
+
+
+    /**
+     * 채팅방을 보고 있는 사용자를 한 번에 조회
+     *
+     * @return Map(채팅방 아이디, Set(사용자 아이디))
+     */
+    public Map<Long, Set<Long>> getPresentUsers(Collection<Long> roomIds) {
+        return redisService.getPresentUsers(roomIds, System.currentTimeMillis() - timeoutMillis);
+    }
+
+
+    /**
+     * 이 서버에 연결된 사용자의 확인 시각을 갱신하고, 응답 없는 사용자를 제거
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-ms:10000}")
+    public void heartbeat() {
+        if (localCounts.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<Long, Set<Long>> presences = new HashMap<>();
+        localCounts.keySet().forEach(presence ->
+                presences.computeIfAbsent(presence.roomId(), k -> new HashSet<>()).add(presence.userId()));
+
+        try {
+            redisService.touchPresence(presences, nodeId, now, presenceTtlSeconds());
+            for (Long roomId : presences.keySet()) {
+                for (Long userId : redisService.prunePresence(roomId, now - timeoutMillis)) {
+                    publish(roomId, userId, PresenceType.LEAVE);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("=== 채팅방 접속 상태 갱신 실패 : {} ===", e.getMessage());
+        }
+    }
+
+
+    // 이 서버의 마지막 세션이 나간 경우에만 제거하고, 다른 서버에도 남아 있지 않으면 퇴장 발행
+    private void release(Presence presence) {
+        Integer remaining = localCounts.computeIfPresent(presence, (k, count) -> count > 1 ? count - 1 : null);
+        if (remaining != null) {
+            return;
+        }
+        boolean left = redisService.removePresence(presence.roomId(), presence.userId(), nodeId,
+                System.currentTimeMillis() - timeoutMillis);
+        if (left) {
+            publish(presence.roomId(), presence.userId(), PresenceType.LEAVE);
+        }
+    }
+
+
+    private void publish(Long roomId, Long userId, PresenceType type) {
+        ChatPresenceDTO presence = ChatPresenceDTO.builder()
+                .roomId(roomId.toString())
+                .userId(userId)
+                .type(type)
+                .timestamp(LocalDateTime.now().toString())
+                .build();
+        messagingTemplate.convertAndSend(PRESENCE_DESTINATION_PREFIX + roomId, presence);
+    }
+
+
+    // 갱신이 멈춘 채팅방 키는 제한 시간의 두 배 뒤에 만료
+    private long presenceTtlSeconds() {
+        return Math.max(1L, timeoutMillis * 2 / 1000);
+    }
+
+
+    private record Presence(Long roomId, Long userId) {
+    }
+}
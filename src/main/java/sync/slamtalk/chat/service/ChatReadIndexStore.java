@@ -0,0 +1,115 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sync.slamtalk.chat.dto.ChatNotificationTargetDto;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.UserChatRoomRepository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 읽은 위치(readIndex) 저장소
+ *
+ * <p>읽은 위치는 Redis 해시(chat_read:{사용자아이디})에 먼저 저장하고,
+ * chat.read-index.flush-interval-ms 마다 변경된 사용자만 모아 user_chatroom.read_index 에 batch UPDATE 로 반영합니다.
+ * 반영 전 읽은 위치를 조회하는 곳은 DB 값과 Redis 값 중 큰 값을 사용합니다.
+ */
+@Slf4j
+@Component
+public class ChatReadIndexStore implements DisposableBean {
+
+    private final RedisService redisService;
+    private final UserChatRoomRepository userChatRoomRepository;
+    private final long ttlSeconds;
+    private final int flushBatchSize;
+
+    public ChatReadIndexStore(RedisService redisService,
+                              UserChatRoomRepository userChatRoomRepository,
+                              @Value("${chat.read-index.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${chat.read-index.flush-batch-size:500}") int flushBatchSize) {
+        this.redisService = redisService;
+        this.userChatRoomRepository = userChatRoomRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    /**
+     * 읽은 위치 저장(이미 저장된 위치보다 큰 경우에만)
+     */
+    public void save(Long userId, Long roomId, Long messageId) {
+        redisService.saveReadIndex(userId, roomId, messageId, ttlSeconds);
+    }
+
+
+    /**
+     * 사용자의 채팅방별 아직 반영되지 않았을 수 있는 읽은 위치
+     */
+    public Map<Long, Long> getReadIndexes(Long userId) {
+        return redisService.getReadIndexes(userId);
+    }
+
+
+    /**
+     * DB 에 저장된 읽은 위치와 Redis 의 읽은 위치 중 큰 값
+     */
+    public Long resolve(Long userId, Long roomId, Long storedReadIndex) {
+        return max(storedReadIndex, getReadIndexes(userId).get(roomId));
+    }
+
+
+    /**
+     * 알림 대상의 읽은 위치를 최신 값으로 보정
+     */
+    public void overlay(List<ChatNotificationTargetDto> targets) {
+        List<Long> readIndexes = redisService.getReadIndexes(
+                targets.stream().map(ChatNotificationTargetDto::getUserId).toList(),
+                targets.stream().map(ChatNotificationTargetDto::getRoomId).toList());
+        for (int i = 0; i < readIndexes.size(); i++) {
+            ChatNotificationTargetDto target = targets.get(i);
+            target.setReadIndex(max(target.getReadIndex(), readIndexes.get(i)));
+        }
+    }
+
+
+    /**
+     * 변경된 읽은 위치를 DB 에 반영
+     */
+    @Scheduled(fixedDelayString = "${chat.read-index.flush-interval-ms:5000}")
+    public void flush() {
+        int users = 0;
+        Map<Long, Map<Long, Long>> readIndexes;
+        while (!(readIndexes = redisService.popDirtyReadIndexes(flushBatchSize)).isEmpty()) {
+            try {
+                userChatRoomRepository.updateReadIndexes(readIndexes);
+                users += readIndexes.size();
+            } catch (Exception e) {
+                // 다음 주기에 다시 반영
+                redisService.markReadIndexesDirty(readIndexes.keySet());
+                log.error("=== 읽은 위치 DB 반영 실패 : {}명 ===", readIndexes.size(), e);
+                return;
+            }
+        }
+        if (users > 0) {
+            log.debug("=== 읽은 위치 DB 반영 : {}명 ===", users);
+        }
+    }
+
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+
+    private static Long max(Long stored, Long cached) {
+        if (cached == null) {
+            return stored;
+        }
+        return stored == null || cached > stored ? cached : stored;
+    }
+}
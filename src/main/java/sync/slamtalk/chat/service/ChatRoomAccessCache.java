@@ -0,0 +1,103 @@
+package sync.slamtalk.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.chat.event.ChatMembershipEvictedEvent;
+import sync.slamtalk.chat.event.ChatRoomEvictedEvent;
+import sync.slamtalk.common.cache.LocalTtlCache;
+
+/**
+ * 채팅방 접근 검증 캐시
+ *
+ * <p>STOMP SUBSCRIBE/SEND 마다 수행하는 채팅방 존재 검사와 사용자 채팅방(참여) 검사 결과를 보관합니다.
+ * 존재하는 채팅방과 참여 중인 사용자만 캐싱하므로, 채팅방 생성이나 참여 시점에는 캐시가 틀릴 수 없고
+ * 채팅방 나가기와 채팅방 삭제 시에만 제거하면 됩니다.
+ * 캐시는 서버마다 따로 있으므로 제거는 {@link ChatMembershipEvictedEvent}, {@link ChatRoomEvictedEvent} 로 알리고,
+ * 여러 서버로 실행하는 경우(chat.broker.mode=redis) 다른 서버에도 전달됩니다.
+ */
+@Component
+public class ChatRoomAccessCache {
+
+    private final LocalTtlCache<Long, RoomType> rooms;
+    private final LocalTtlCache<Membership, Boolean> memberships;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ChatRoomAccessCache(ApplicationEventPublisher eventPublisher,
+                               @Value("${chat.access-cache.max-size:50000}") int maxSize,
+                               @Value("${chat.access-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.eventPublisher = eventPublisher;
+        this.rooms = new LocalTtlCache<>(maxSize, ttlSeconds * 1000);
+        this.memberships = new LocalTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * 캐시된 채팅방 타입(존재하지 않거나 캐시에 없으면 null)
+     */
+    public RoomType getRoomType(Long roomId) {
+        return rooms.get(roomId);
+    }
+
+    public void putRoom(Long roomId, RoomType roomType) {
+        rooms.put(roomId, roomType);
+    }
+
+    public boolean isMember(Long userId, Long roomId) {
+        return memberships.get(new Membership(userId, roomId)) != null;
+    }
+
+    public void putMember(Long userId, Long roomId) {
+        memberships.put(new Membership(userId, roomId), Boolean.TRUE);
+    }
+
+    /**
+     * 사용자가 채팅방을 나간 경우
+     * 이 서버의 캐시는 바로 제거하고, 트랜잭션 커밋 후 다시 제거하면서 다른 서버에도 알린다.
+     */
+    public void evictMember(Long userId, Long roomId) {
+        evictMemberLocally(userId, roomId);
+        eventPublisher.publishEvent(new ChatMembershipEvictedEvent(userId, roomId));
+    }
+
+    /**
+     * 이 서버의 캐시만 제거(다른 서버에서 전달된 제거)
+     */
+    public void evictMemberLocally(Long userId, Long roomId) {
+        memberships.invalidate(new Membership(userId, roomId));
+    }
+
+    /**
+     * 채팅방이 삭제된 경우 채팅방과 참여 정보를 모두 제거
+     * 사용자 나가기와 같이 이 서버는 바로 제거하고, 커밋 후 다시 제거하면서 다른 서버에도 알린다.
+     */
+    public void evictRoom(Long roomId) {
+        evictRoomLocally(roomId);
+        eventPublisher.publishEvent(new ChatRoomEvictedEvent(roomId));
+    }
+
+    /**
+     * 이 서버의 채팅방과 참여 정보만 제거(다른 서버에서 전달된 제거)
+     */
+    public void evictRoomLocally(Long roomId) {
+        rooms.invalidate(roomId);
+        memberships.invalidateIf(membership -> membership.roomId().equals(roomId));
+    }
+
+    /**
+     * 커밋 전에 다른 요청이 DB 를 다시 읽어 캐싱했을 수 있으므로 커밋 후 한 번 더 제거
+     */
+    @TransactionalEventListener(value = ChatMembershipEvictedEvent.class, fallbackExecution = true)
+    public void onMembershipEvicted(ChatMembershipEvictedEvent event) {
+        evictMemberLocally(event.userId(), event.roomId());
+    }
+
+    @TransactionalEventListener(value = ChatRoomEvictedEvent.class, fallbackExecution = true)
+    public void onRoomEvicted(ChatRoomEvictedEvent event) {
+        evictRoomLocally(event.roomId());
+    }
+
+    private record Membership(Long userId, Long roomId) {
+    }
+}
@@ -0,0 +1,54 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방 마지막 메세지 스냅샷 백필
+ *
+ * <p>chatroom.last_message_* 컬럼이 추가되기 전에 생성된 채팅방의 스냅샷을 messages 테이블에서 채웁니다.
+ * chat.last-message.backfill.enabled=true 일 때만 애플리케이션 시작 시 한 번 실행되며,
+ * 채팅방 아이디 구간별로 나누어 갱신하므로 한 번에 긴 잠금을 잡지 않습니다.
+ * 이미 스냅샷이 있는 채팅방은 건너뛰므로 여러 번 실행해도 안전합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.last-message.backfill.enabled", havingValue = "true")
+public class ChatRoomLastMessageBackfill implements ApplicationRunner {
+
+    private static final String UPDATE_LAST_MESSAGE_ID_SQL = "UPDATE chatroom c SET last_message_id = (SELECT MAX(m.message_id) FROM messages m WHERE m.chatroom_id = c.chatroom_id) WHERE c.chatroom_id BETWEEN ? AND ? AND c.last_message_id IS NULL";
+
+    private static final String UPDATE_LAST_MESSAGE_SQL = "UPDATE chatroom c SET last_message_content = (SELECT m.content FROM messages m WHERE m.message_id = c.last_message_id), last_message_time = (SELECT m.creation_time FROM messages m WHERE m.message_id = c.last_message_id) WHERE c.chatroom_id BETWEEN ? AND ? AND c.last_message_id IS NOT NULL AND c.last_message_time IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public ChatRoomLastMessageBackfill(JdbcTemplate jdbcTemplate,
+                                       @Value("${chat.last-message.backfill.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(chatroom_id) FROM chatroom", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(chatroom_id) FROM chatroom", Long.class);
+        if (minId == null || maxId == null) {
+            log.debug("=== 백필할 채팅방 없음 ===");
+            return;
+        }
+
+        int updated = 0;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long to = from + chunkSize - 1;
+            updated += jdbcTemplate.update(UPDATE_LAST_MESSAGE_ID_SQL, from, to);
+            jdbcTemplate.update(UPDATE_LAST_MESSAGE_SQL, from, to);
+        }
+        log.info("=== 채팅방 마지막 메세지 백필 완료 : {}개 채팅방 ===", updated);
+    }
+}
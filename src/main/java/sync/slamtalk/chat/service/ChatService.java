@@ -3,11 +3,12 @@ package sync.slamtalk.chat.service;
 import sync.slamtalk.chat.dto.request.ChatCreateDTO;
 import sync.slamtalk.chat.dto.request.ChatMessageDTO;
 import sync.slamtalk.chat.dto.response.ChatRoomDTO;
+import sync.slamtalk.chat.dto.response.ChatSyncRoomDTO;
 import sync.slamtalk.chat.entity.ChatRoom;
-import sync.slamtalk.chat.entity.Messages;
 import sync.slamtalk.chat.entity.UserChatRoom;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ChatService {
@@ -21,7 +22,7 @@ public interface ChatService {
     long createBasketballChatRoom(ChatCreateDTO chatCreateDTO);
 
 
-    // 메세지 저장
+    // 메세지 저장(재전송된 메세지면 저장하지 않고 null, 처음 발급한 메세지 아이디는 chatMessageDTO 에 채움)
     Long saveMessage(ChatMessageDTO chatMessageDTO);
 
 
@@ -47,23 +48,27 @@ public interface ChatService {
     List<ChatMessageDTO> getPreviousChatMessages(Long userId, Long chatRoomId, Long lastMessageId);
 
 
+    // 여러 채팅방에서 마지막으로 받은 메세지 이후의 메세지 가져오기(재접속 동기화)
+    List<ChatSyncRoomDTO> syncMessages(Long userId, Map<Long, Long> lastMessageIds);
+
+
     // 사용자 채팅리스트 가져오기
     List<ChatRoomDTO> getChatLIst(Long userId);
 
 
-    // 특정방의 가장 마지막 메세지 가져오기
-    Messages getLastMessageFromChatRoom(Long chatRoomId);
+    // 특정방의 가장 마지막 메세지 아이디 가져오기(메세지가 없으면 null)
+    Long getLastMessageId(Long chatRoomId);
 
 
     // 특정방을 나갈 때 userChatRoom softDelete
     Optional<UserChatRoom> exitRoom(Long userId, Long chatRoomId);
 
 
-    // 첫방문/재방문 검사
-    Optional<Boolean> isVisitedFirst(Long userId, Long roomId);
+    // 채팅방 softDelete(참여 정보 포함)
+    void deleteChatRoom(Long chatRoomId);
 
 
-    // Redis 조회 후 DB 조회
-    Optional<List<ChatMessageDTO>> redisFirstDataBaseLater(Long userId, Long chatRoomId, Long lastMessageId);
+    // 첫방문/재방문 검사
+    Optional<Boolean> isVisitedFirst(Long userId, Long roomId);
 
 }
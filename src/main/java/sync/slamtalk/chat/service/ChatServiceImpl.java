@@ -2,22 +2,25 @@ package sync.slamtalk.chat.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.ErrorResponseException;
 import sync.slamtalk.chat.dto.ChatErrorResponseCode;
+import sync.slamtalk.chat.dto.UnrefinedChatRoomDto;
 import sync.slamtalk.chat.dto.request.ChatCreateDTO;
 import sync.slamtalk.chat.dto.request.ChatMessageDTO;
 import sync.slamtalk.chat.dto.response.ChatRoomDTO;
+import sync.slamtalk.chat.dto.response.ChatSyncRoomDTO;
 import sync.slamtalk.chat.entity.ChatRoom;
 import sync.slamtalk.chat.entity.Messages;
 import sync.slamtalk.chat.entity.RoomType;
 import sync.slamtalk.chat.entity.UserChatRoom;
+import sync.slamtalk.chat.metrics.ChatMetrics;
 import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.ChatQueryRepository;
 import sync.slamtalk.chat.repository.ChatRoomRepository;
 import sync.slamtalk.chat.repository.MessagesRepository;
 import sync.slamtalk.chat.repository.UserChatRoomRepository;
@@ -35,7 +38,6 @@ import sync.slamtalk.user.entity.User;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -51,6 +53,30 @@ public class ChatServiceImpl implements ChatService {
     private final MessageService messageService;
     private final ChatNotificationServiceImpl chatNotificationService;
     private final NotificationService notificationService;
+    private final MessageIdGenerator messageIdGenerator;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatQueryRepository chatQueryRepository;
+    private final ChatHistoryReader chatHistoryReader;
+    private final ChatSyncReader chatSyncReader;
+    private final ChatRoomAccessCache chatRoomAccessCache;
+    private final ChatReadIndexStore chatReadIndexStore;
+    private final ChatMetrics chatMetrics;
+
+    // 한번에 조회하는 메세지 갯수
+    private static final int MESSAGE_PAGE_SIZE = 30;
+
+    // 채팅방 메세지 아이디 확정 최대 시도 횟수
+    private static final int ROOM_MESSAGE_ID_MAX_ATTEMPTS = 10;
+
+    // 채팅방 마지막 메세지 아이디 유지 시간(메세지 캐시와 같음)
+    private static final long ROOM_LAST_ID_TIMEOUT_SECONDS = 43200;
+
+    // 클라이언트 메세지 아이디 최대 길이(넘으면 중복 검사 안함)
+    private static final int CLIENT_MESSAGE_ID_MAX_LENGTH = 64;
+
+    // 재전송 중복 검사 유지 시간
+    @Value("${chat.dedup.ttl-seconds:600}")
+    private long clientMessageIdTtlSeconds;
 
     /**
      * 채팅방을 생성한다.
@@ -59,6 +85,7 @@ public class ChatServiceImpl implements ChatService {
      * @return chatRoomId
      */
     @Override
+    @Transactional
     public long createChatRoom(ChatCreateDTO chatCreateDTO) {
         long roomNum = 0L;
         RoomType roomType = RoomType.DIRECT;
@@ -68,11 +95,11 @@ public class ChatServiceImpl implements ChatService {
             throw new BaseException(ErrorResponseCode.CHAT_FAIL);
         }
 
-        List<Long> nonExistentUserIds = chatCreateDTO.getParticipants().stream()
-                .filter(userId -> !userRepository.existsById(userId))
-                .collect(Collectors.toList());
+        // 참여자를 한 번에 조회
+        Map<Long, User> users = userRepository.findAllById(new HashSet<>(chatCreateDTO.getParticipants())).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
 
-        if (!nonExistentUserIds.isEmpty()) {
+        if (!users.keySet().containsAll(chatCreateDTO.getParticipants())) {
             throw new BaseException(ErrorResponseCode.CHAT_FAIL);
         }
 
@@ -154,27 +181,12 @@ public class ChatServiceImpl implements ChatService {
         ChatRoom saved = chatRoomRepository.save(chatRoom);
         roomNum = saved.getId();
 
-        // direct 상대방 아이디
+        // 참여자별 UserChatRoom 생성
         List<Long> participants = chatCreateDTO.getParticipants();
-        Long userA = participants.get(0);
-        Long userB = participants.get(1);
-        List<Long> directs = new ArrayList<>();
-        directs.add(userA);
-        directs.add(userB);
-
-        int dIndex = 1;
-        Long userChatRoomId=0L;
-        for (Long user : chatCreateDTO.getParticipants()) {
-
-            Optional<User> optionalUser = userRepository.findById(user);
-            if(optionalUser.isEmpty()){
-                throw new BaseException(ErrorResponseCode.CHAT_FAIL);
-            }
-
-
-            // UserChatRoom 생성
+        List<UserChatRoom> userChatRooms = new ArrayList<>(participants.size());
+        for (int i = 0; i < participants.size(); i++) {
             UserChatRoom userChatRoom = UserChatRoom.builder()
-                    .user(optionalUser.get())
+                    .user(users.get(participants.get(i)))
                     .isFirst(true)
                     .roomType(roomType)
                     .readIndex(0L)
@@ -185,29 +197,24 @@ public class ChatServiceImpl implements ChatService {
                     .build();
 
             if (roomType.equals(RoomType.DIRECT) || roomType.equals(RoomType.MATCHING)) {
-                userChatRoom.setDirectId(directs.get(dIndex--));
+                // direct 상대방 아이디
+                userChatRoom.setDirectId(participants.get(i == 0 ? 1 : 0));
                 // 1:1 || 팀매칭 방 이름 설정
-                Optional<User> partner = userRepository.findById(userChatRoom.getDirectId());
-                if(partner.isPresent()){
-                    User p = partner.get();
-                    userChatRoom.setName(p.getNickname());
-                }
+                userChatRoom.setName(users.get(userChatRoom.getDirectId()).getNickname());
             }
-            UserChatRoom savedUserChatRoom = userChatRoomRepository.save(userChatRoom);
-            userChatRoomId = savedUserChatRoom.getId();
-            log.debug("userChatRoom 저장 완료 : {}", savedUserChatRoom.getChat().getId());
+            userChatRooms.add(userChatRoom);
         }
+        // 한 번의 batch insert 로 저장
+        userChatRoomRepository.insertUserChatRooms(userChatRooms);
+        log.debug("userChatRoom 저장 완료 : {}, {}명", roomNum, userChatRooms.size());
 
         // 채팅방 생성 완료에 따른 알림
         // userchatRoom 을 따로 연결 x , 다른 일반 알림이랑 동일하게
-        for(Long id : participants){
-            log.debug("알림을 줄 참여자 아이디 : {}",id);
-            String message = messageService.createChatRoom(roomNum);
-            String uri = messageService.getPath(roomNum);
-            // 채팅방 생성 알림은 일반 알림 처럼
-            NotificationRequest req = NotificationRequest.of(message,uri,Set.of(id),null,NotificationType.CHAT);
-            notificationSender.send(req);
-        }
+        // 모든 참여자에게 하나의 알림 요청으로 전송
+        String message = messageService.createChatRoom(roomNum);
+        String uri = messageService.getPath(roomNum);
+        NotificationRequest req = NotificationRequest.of(message, uri, new HashSet<>(participants), null, NotificationType.CHAT);
+        notificationSender.send(req);
         return roomNum;
     }
 
@@ -236,37 +243,80 @@ public class ChatServiceImpl implements ChatService {
 
     /**
      * 채팅방에서 발생한 메세지를 저장한다.
+     * 메세지 아이디를 발급해 redis 에 먼저 저장하고, DB 저장과 알림은 ChatMessageWriter 가 비동기로 처리한다.
+     * clientMessageId 가 있으면 먼저 Redis 에서 선점하고, 이미 처리한 아이디(재연결 후 재전송)면 아무것도 저장하지 않고
+     * 처음 발급한 메세지 아이디를 chatMessageDTO 에 채운다(확인 응답용).
      *
      * @param chatMessageDTO 발행된 메세지에 대한 정보
+     * @return 발급한 메세지 아이디, 재전송된 메세지면 null
      */
     @Override
     public Long saveMessage(ChatMessageDTO chatMessageDTO) {
+        long startNanos = System.nanoTime();
         long chatRoomId = Long.parseLong(Objects.requireNonNull(chatMessageDTO.getRoomId()));
-        Optional<ChatRoom> chatRoom = chatRoomRepository.findById(chatRoomId);
-        if (chatRoom.isPresent()) { // chatRoom 이 존재하면
-
-            ChatRoom room = chatRoom.get();
-
-            // messages 저장
-            // Message create
-            Messages messages = Messages.builder()
-                    .chatRoom(room)
-                    .senderId(chatMessageDTO.getSenderId())
-                    .senderNickname(chatMessageDTO.getSenderNickname())
-                    .content(chatMessageDTO.getContent())
-                    .creationTime(chatMessageDTO.getTimestamp())
-                    .build();
-            messagesRepository.save(messages);
-            log.debug("=== 메세지 저장 완료 === ");
-            chatMessageDTO.setMessageId(messages.getId().toString());
+
+        // 재전송 중복 검사
+        String clientMessageId = chatMessageDTO.getClientMessageId();
+        boolean claimed = clientMessageId != null && clientMessageId.length() <= CLIENT_MESSAGE_ID_MAX_LENGTH;
+        if (claimed) {
+            Long assignedMessageId = redisService.claimClientMessageId(chatRoomId, chatMessageDTO.getSenderId(), clientMessageId, clientMessageIdTtlSeconds);
+            if (assignedMessageId != null) {
+                log.debug("=== 재전송된 메세지 : {} === ", clientMessageId);
+                chatMetrics.recordDuplicateMessage();
+                // 처음 저장할 때 발급한 메세지 아이디로 확인 응답(아직 처리 중이면 없음)
+                chatMessageDTO.setMessageId(assignedMessageId > 0 ? assignedMessageId.toString() : null);
+                return null;
+            }
+        }
+
+        long messageId;
+        try {
+            if (!chatRoomRepository.existsById(chatRoomId)) {
+                log.debug("=== chatRoom 존재하지 않음 === ");
+                throw new BaseException(ErrorResponseCode.CHAT_FAIL);
+            }
+
+            messageId = nextRoomMessageId(chatRoomId);
+            chatMessageDTO.setMessageId(Long.toString(messageId));
+            if (claimed) {
+                redisService.assignClientMessageId(chatRoomId, chatMessageDTO.getSenderId(), clientMessageId, messageId, clientMessageIdTtlSeconds);
+            }
 
             // redis 먼저 저장
             redisService.saveMessage(chatMessageDTO, 43200);
-            return messages.getId();
+        } catch (RuntimeException e) {
+            // 저장하지 못했으므로 같은 아이디로 다시 보낼 수 있도록 해제
+            if (claimed) {
+                redisService.releaseClientMessageId(chatRoomId, chatMessageDTO.getSenderId(), clientMessageId);
+            }
+            throw e;
+        }
 
-        } else {
-            log.debug("=== chatRoom 존재하지 않음 === ");
-            throw new BaseException(ErrorResponseCode.CHAT_FAIL);
+        // DB 는 write-behind 로 저장
+        chatMessageWriter.enqueue(chatMessageDTO);
+
+        // 채팅방 타입별 메세지 수, 상위 채팅방 기록
+        chatMetrics.recordMessage(chatRoomId, chatRoomAccessCache.getRoomType(chatRoomId), System.nanoTime() - startNanos);
+        log.debug("=== 메세지 저장 요청 완료 : {} === ", messageId);
+        return messageId;
+    }
+
+
+    /**
+     * 채팅방 안에서 증가하는 메세지 아이디를 발급한다.
+     * 다른 서버가 더 큰 아이디를 먼저 확정했으면(시계 차이) 그보다 큰 아이디로 다시 발급한다.
+     */
+    private long nextRoomMessageId(long chatRoomId) {
+        long messageId = messageIdGenerator.nextId();
+        for (int attempt = 1; ; attempt++) {
+            Long floor = redisService.claimRoomMessageId(chatRoomId, messageId, ROOM_LAST_ID_TIMEOUT_SECONDS);
+            if (floor == null) {
+                return messageId;
+            }
+            if (attempt >= ROOM_MESSAGE_ID_MAX_ATTEMPTS) {
+                throw new IllegalStateException("채팅방 메세지 아이디를 확정하지 못했습니다 : " + chatRoomId);
+            }
+            messageId = messageIdGenerator.nextIdAfter(floor);
         }
     }
 
@@ -279,7 +329,9 @@ public class ChatServiceImpl implements ChatService {
      */
     @Override
     public Optional<ChatRoom> isExistChatRoom(Long chatRoomId) {
-        return chatRoomRepository.findById(chatRoomId);
+        // softDelete 된 채팅방은 존재하지 않는 채팅방으로 처리
+        return chatRoomRepository.findById(chatRoomId)
+                .filter(chatRoom -> !Boolean.TRUE.equals(chatRoom.getIsDeleted()));
 
     }
 
@@ -298,183 +350,125 @@ public class ChatServiceImpl implements ChatService {
 
     /**
      * 채팅리스트를 조회한다.
+     * 채팅방, 상대방 프로필, 마지막 메세지 스냅샷을 한 번의 쿼리로 조회하고, 채팅 알림은 한 번에 삭제한다.
      *
      * @param userId 사용자 아이디
      * @return List(ChatRoomDTO) 채팅방 리스트
      */
     @Override
     public List<ChatRoomDTO> getChatLIst(Long userId) {
-        List<ChatRoomDTO> chatRooms = new ArrayList<>();
-
-        // 유저가 가지고 있는 채팅방 모두 가져오기
         log.debug("userId:{}", userId);
-        List<UserChatRoom> chatRoom = userChatRoomRepository.findByUser_Id(userId);
+
+        // 유저가 가지고 있는 삭제되지 않은 채팅방 모두 가져오기
+        List<UnrefinedChatRoomDto> chatRoom = chatQueryRepository.findChatList(userId);
         if (chatRoom.isEmpty()) {
             log.debug("유저가 가지고 있는 채팅방이 없습니다.");
             return Collections.emptyList();
         }
 
+        // 아직 DB 에 반영되지 않은 마지막 메세지는 redis 스냅샷으로 보정
+        Map<Long, ChatMessageDTO> lastMessages = redisService.getLastMessages(
+                chatRoom.stream().map(UnrefinedChatRoomDto::getRoomId).toList());
 
-        // 유저가 가지고 있는 채팅방 리스트를 돌면서 가져오기
-        for (UserChatRoom ucr : chatRoom) {
-
-            boolean isDelete = ucr.getIsDeleted();
-
-            // 삭제 되지 않은 채팅방만 가져옴
-            if (!isDelete) {
+        // 아직 DB 에 반영되지 않은 읽은 위치
+        Map<Long, Long> readIndexes = chatReadIndexStore.getReadIndexes(userId);
 
-                String profile = null;
-                ChatRoomDTO dto = ChatRoomDTO.builder()
-                        .roomId(ucr.getId().toString())
-                        .roomType(ucr.getRoomType().toString())
-                        .imgUrl(profile)
-                        .name(ucr.getChat().getName())
-                        .roomId(ucr.getChat().getId().toString())
-                        .build();
-
-                // 1:1 인 경우 상대방 프로필
-                // 1:1 , 팀매칭만 상대방 프로필 나머지(같이하기, 농구장은 디폴트 프로필)
-                if (ucr.getRoomType().equals(RoomType.DIRECT) || ucr.getRoomType().equals(RoomType.MATCHING)) {
-                    List<UserChatRoom> optionalList = userChatRoomRepository.findByChat_Id(ucr.getChat().getId());
-
-                    if (optionalList.isEmpty()) {
-                        log.debug("1:1인데 가져온 채팅방 아이디 조회했을 때 가져온게 없음 : {}", ucr.getChat().getId());
-                    }
-
-                    for (UserChatRoom x : optionalList) {
-                        if (x.getUser().getId().equals(userId) && x.getIsDeleted().equals(Boolean.FALSE)) { //&& !x.getUser().getId().equals(userId)
-                            // 유저 가지고 있는 것중 삭제되지 않은 채팅방
-
-                            // directId 는 상대방의 아이디
-                            Long directId = x.getDirectId();
-                            Optional<User> optionalUser = userRepository.findById(directId);
-
-                            log.debug("현재 유저 : {}, 가져오려는 방 : {}", userId, directId);
-
-
-                            // 상대방의 이미지, 상대방 이름, 상대방 아이디 저장
-                            if (optionalUser.isPresent()) {
-                                profile = optionalUser.get().getImageUrl();
-                                dto.updateImgUrl(profile);
-                                dto.updateName(optionalUser.get().getNickname());
-                                dto.updatePartnerId(optionalUser.get().getId().toString());
-                            }
-                        }
-                    }
-                }
-
-                // 팀매칭 게시판 아이디
-                if (ucr.getRoomType().equals(RoomType.MATCHING)) {
-                    dto.updatePartnerId(ucr.getTeamMatchingId().toString());
-                }
-
-                // 같이하기 게시판 아이디
-                if (ucr.getRoomType().equals(RoomType.TOGETHER)) {
-                    dto.updatePartnerId(ucr.getTogetherId().toString());
-                }
-
-                // 농구장 아이디
-                if (ucr.getRoomType().equals(RoomType.BASKETBALL)) {
-                    dto.updatecourtId(ucr.getChat().getBasketBallId());
-                }
-
-
-                // 마지막 메세지
-                PageRequest pageRequest = PageRequest.of(0, 1);
-                Page<Messages> latestByChatRoomId = messagesRepository.findLatestByChatRoomId(ucr.getChat().getId(), pageRequest);
-                // 메세지 내용이 있는 경우만(메세지를 보내적이 없는 채팅방의 경우에는 해당하지 않음)
-                if (latestByChatRoomId.hasContent()) {
-                    Stream<Messages> messagesStream = latestByChatRoomId.get();
-                    Messages messages = messagesStream.toList().get(0);
+        List<ChatRoomDTO> chatRooms = new ArrayList<>(chatRoom.size());
+        List<Long> userChatRoomIds = new ArrayList<>(chatRoom.size());
+        for (UnrefinedChatRoomDto ucr : chatRoom) {
+            Long readIndex = readIndexes.get(ucr.getRoomId());
+            if (readIndex != null && (ucr.getReadIndex() == null || readIndex > ucr.getReadIndex())) {
+                ucr.setReadIndex(readIndex);
+            }
+            ChatMessageDTO last = lastMessages.get(ucr.getRoomId());
+            if (last != null && (ucr.getLastMessageId() == null || Long.parseLong(last.getMessageId()) > ucr.getLastMessageId())) {
+                ucr.setLastMessageId(Long.parseLong(last.getMessageId()));
+                ucr.setLastMessageContent(last.getContent());
+                ucr.setLastMessageTime(last.getTimestamp());
+            }
+            chatRooms.add(toChatRoomDTO(ucr));
+            userChatRoomIds.add(ucr.getUserChatRoomId());
+        }
 
-                    dto.setLast_message(messages.getContent());
-                    dto.setLastMessageTime(messages.getCreationTime());
-                    chatRooms.add(dto);
+        // 알림 제거
+        // 유저가 가지고 있는 채팅방에 대해, 메세지 알림을 한 번에 제거한다.
+        notificationService.deleteChatNotifications(userId, userChatRoomIds);
+        log.debug("유저가 참여한 방 {}개 -> 알림 제거", userChatRoomIds.size());
 
-                    // 채팅 리스트에 빨간 점
-                    if(!messages.getId().equals(ucr.getReadIndex())){
-                        dto.updateNoReadCnt(true);
-                    }
+        // 마지막 메세지 날짜 순으로 채팅방 리스트 정렬
+        // 발행된 메세지가 없는 경우 null 이므로, 별도처리
+        chatRooms.sort(Comparator.comparing(ChatRoomDTO::getLastMessageTime, Comparator.nullsLast(Comparator.reverseOrder())));
+        return chatRooms;
+    }
 
-                }
 
-                // 알림 제거
-                // 유저 리스트에 가지고 있는 채팅방에 대해, 메세지 알림을 제거한다.
-                // userChatRoom 과 연관관계 매핑이 되어 있는 애들 한에서만 제거
-                // userChatRoom null 이면 대상이 아님
-                notificationService.deleteChatNotification(userId,ucr.getId());
+    /**
+     * 채팅리스트 조회 결과를 응답 형태로 변환한다.
+     *
+     * @param ucr 채팅리스트 조회 결과
+     * @return ChatRoomDTO
+     */
+    private ChatRoomDTO toChatRoomDTO(UnrefinedChatRoomDto ucr) {
+        ChatRoomDTO dto = ChatRoomDTO.builder()
+                .roomId(ucr.getRoomId().toString())
+                .roomType(ucr.getRoomType().toString())
+                .name(ucr.getName())
+                .build();
 
-                log.debug("유저가 참여한 방 번호: {} -> 알림 제거",ucr.getId());
+        // 1:1 , 팀매칭만 상대방 프로필 나머지(같이하기, 농구장은 디폴트 프로필)
+        if ((ucr.getRoomType().equals(RoomType.DIRECT) || ucr.getRoomType().equals(RoomType.MATCHING))
+                && ucr.getPartnerId() != null) {
+            dto.updateImgUrl(ucr.getPartnerImageUrl());
+            dto.updateName(ucr.getPartnerNickname());
+            dto.updatePartnerId(ucr.getPartnerId().toString());
+        }
 
-                if (latestByChatRoomId.isEmpty()) {
-                    dto.setLast_message("주고 받은 메세지가 없습니다.");
-                    chatRooms.add(dto);
-                }
+        // 팀매칭 게시판 아이디
+        if (ucr.getRoomType().equals(RoomType.MATCHING)) {
+            dto.updatePartnerId(ucr.getTeamMatchingId().toString());
+        }
 
-            }
+        // 같이하기 게시판 아이디
+        if (ucr.getRoomType().equals(RoomType.TOGETHER)) {
+            dto.updatePartnerId(ucr.getTogetherId().toString());
         }
 
-        Optional<UserChatRoom> byId = userChatRoomRepository.findById(userId);
-        if(byId.isPresent()){
-            UserChatRoom userChatRoom = byId.get();
-            log.debug("채팅방 메세지 알림 제거 후, 유저의 남은 알림 갯수 : {}",userChatRoom.getNotifications().size());
+        // 농구장 아이디
+        if (ucr.getRoomType().equals(RoomType.BASKETBALL)) {
+            dto.updatecourtId(ucr.getCourtId());
         }
 
+        // 마지막 메세지(메세지를 보낸 적이 없는 채팅방은 기본 문구)
+        if (ucr.getLastMessageId() == null) {
+            dto.setLast_message("주고 받은 메세지가 없습니다.");
+            return dto;
+        }
+        dto.setLast_message(ucr.getLastMessageContent());
+        dto.setLastMessageTime(ucr.getLastMessageTime());
 
-        // 마지막 메세지 날짜 순으로 채팅방 리스트 정렬
-        // 발행된 메세지가 없는 경우 null 이므로, 별도처리
-        Collections.sort(chatRooms,Comparator.comparing(ChatRoomDTO::getLastMessageTime, Comparator.nullsLast(Comparator.reverseOrder())));
-        return chatRooms;
+        // 채팅 리스트에 빨간 점
+        if (!ucr.getLastMessageId().equals(ucr.getReadIndex())) {
+            dto.updateNoReadCnt(true);
+        }
+        return dto;
     }
 
 
     /**
-     * 특정 방에서 주고 받은 모든 메세지를 조회한다.
+     * 특정 방에서 주고 받은 최신 메세지를 조회한다.
      *
      * @param chatRoomId
      * @param messageId
-     * @return List(ChatMessageDTO)
+     * @return List(ChatMessageDTO) 메세지 아이디 오름차순
      */
     @Override
     @Transactional
     public List<ChatMessageDTO> getChatMessages(Long chatRoomId, Long messageId) {
-        List<ChatMessageDTO> ansList = new ArrayList<>();
-
-        // ReadIndex 상관없이 가장 최신 메세지부터 30개씩 과거 메세지를 가져오기
-        Pageable pageable = PageRequest.of(0,30);
-        List<Messages> newMessages = messagesRepository.findByChatRoomIdAndMessageIdOrderByMessageIdDesc(chatRoomId, pageable);
+        // ReadIndex 상관없이 가장 최신 메세지부터 30개씩 과거 메세지를 가져오기(redis -> DB)
+        List<ChatMessageDTO> ansList = new ArrayList<>(chatHistoryReader.readBefore(chatRoomId, null, MESSAGE_PAGE_SIZE));
 
         // 정렬
-        Collections.sort(newMessages,Comparator.comparing(Messages::getId));
-
-        // messageRepository 에서 가져온 메세지로 dto 생성하기
-        for (Messages m : newMessages) {
-
-            // 작성자 이미지 가져오기
-            Long senderId = m.getSenderId();
-            Optional<User> optionalUser = userRepository.findById(senderId);
-            String imageUrl = "";
-            if (optionalUser.isPresent()) {
-                User user = optionalUser.get();
-                imageUrl = user.getImageUrl();
-            } else {
-                imageUrl = "null";
-            }
-            ChatMessageDTO messageDTO = ChatMessageDTO.builder()
-                    .messageId(m.getId().toString())
-                    .roomId(m.getChatRoom().getId().toString())
-                    .senderId(m.getSenderId())
-                    .senderNickname(m.getSenderNickname())
-                    .imgUrl(imageUrl)
-                    .content(m.getContent())
-                    .timestamp(m.getCreationTime())
-                    .build();
-            ansList.add(messageDTO);
-
-            // Redis 캐싱
-            redisService.saveMessage(messageDTO, 43200); // 12시간
-            log.debug("redis 캐싱 다음줄");
-        }
+        Collections.reverse(ansList);
         return ansList;
     }
 
@@ -484,148 +478,79 @@ public class ChatServiceImpl implements ChatService {
      *
      * @param userId     사용자 아이디
      * @param chatRoomId 채팅방 아이디
-     * @param lastMessageId      기준 메세지 아이디
-     * @return List(ChatMessageDTO)
+     * @param lastMessageId      기준 메세지 아이디(포함), 없으면 readIndex 기준
+     * @return List(ChatMessageDTO) 메세지 아이디 내림차순
      */
     @Override
     @Transactional(isolation = Isolation.READ_UNCOMMITTED)
     public List<ChatMessageDTO>getPreviousChatMessages(Long userId, Long chatRoomId,Long lastMessageId) {
 
-        List<ChatMessageDTO> chatMessageDTOList = new ArrayList<>();
-
-        // 추가로 가져올 메세지 갯수
-        int needCnt = 30;
-
-        // redis 먼저 조회
-        Optional<List<ChatMessageDTO>> optionalList = redisFirstDataBaseLater(userId, chatRoomId, lastMessageId);
-
-        // redis 로 불러온 내역이 없는 경우
-        if (optionalList.isEmpty()) {
-            log.debug("===redis 로 불러온 내역이 없음====");
-
-            // redis에 없는 경우 DB조회
-            Optional<UserChatRoom> existUserChatRoom = isExistUserChatRoom(userId, chatRoomId);
-
-            if (existUserChatRoom.isEmpty()) {
-                log.debug("userChatRoom 존재하지않음");
-                throw new BaseException(ChatErrorResponseCode.CHAT_ROOM_NOT_FOUND);
-            }
-
-            log.debug("userChatroom 존재함");
-            UserChatRoom userChatRoom = existUserChatRoom.get();
-            Long readIndex = userChatRoom.getReadIndex();
-            log.debug("=== readIndex : {}", readIndex);
-
-
-            // 20개씩 내역 페이징
-            Pageable pageable = PageRequest.of(0, 30); // 첫 페이지, 최대 30개
-            List<Messages> byChatRoomIdAndMessageIdLessThanOrderedByMessageIdDesc = messagesRepository.findByChatRoomIdAndMessageIdLessThanOrderedByMessageIdDesc(chatRoomId, readIndex, pageable);
-
-            // 메세지가 아예 없는 경우
-            if (byChatRoomIdAndMessageIdLessThanOrderedByMessageIdDesc.isEmpty()) {
-                log.debug("채팅방에 아직 메세지 없음");
-                throw new BaseException(ChatErrorResponseCode.CHAT_ROOM_NO_HISTORY_YET);
-            }
+        // UserChatRoom 에 존재하는 지 먼저 검증
+        Optional<UserChatRoom> existUserChatRoom = isExistUserChatRoom(userId, chatRoomId);
+        if (existUserChatRoom.isEmpty()) {
+            log.debug("userChatRoom 존재하지않음");
+            throw new BaseException(ChatErrorResponseCode.CHAT_ROOM_NOT_FOUND);
+        }
 
-            // 메세지가 있는 경우
-            for (Messages msg : byChatRoomIdAndMessageIdLessThanOrderedByMessageIdDesc) {
+        Long from = lastMessageId != null
+                ? lastMessageId
+                : chatReadIndexStore.resolve(userId, chatRoomId, existUserChatRoom.get().getReadIndex());
+        log.debug("=== 기준 메세지 아이디 : {}", from);
 
-                log.debug("db 에서 메세지 불러오기 성공");
-                Optional<User> optionalUser = userRepository.findById(msg.getSenderId());
-                String senderImgUrl = null;
-                if (optionalUser.isPresent()) {
-                    senderImgUrl = optionalUser.get().getImageUrl();
-                }
+        // redis 에서 가능한 만큼, 나머지는 DB 에서 30개
+        List<ChatMessageDTO> messages = chatHistoryReader.readBefore(chatRoomId, from, MESSAGE_PAGE_SIZE);
 
-                ChatMessageDTO chatMessageDTO = ChatMessageDTO.builder()
-                        .messageId(msg.getId().toString())
-                        .senderId(msg.getSenderId())
-                        .roomId(msg.getChatRoom().getId().toString())
-                        .content(msg.getContent())
-                        .senderNickname(msg.getSenderNickname())
-                        .timestamp(msg.getCreationTime())
-                        .imgUrl(senderImgUrl)
-                        .build();
-                chatMessageDTOList.add(chatMessageDTO);
-
-                // db에서 페이징하는 동시에 레디스에 내역 저장
-                redisService.saveMessage(chatMessageDTO, 43200);
-                log.debug("db페이징 후 레디스에 내역 저장");
-            }
+        // 메세지가 아예 없는 경우
+        if (messages.isEmpty()) {
+            log.debug("채팅방에 아직 메세지 없음");
+            throw new BaseException(ChatErrorResponseCode.CHAT_ROOM_NO_HISTORY_YET);
         }
+        return messages;
+    }
 
-        // redis 에서 가져온 내역이 있는 경우
-        if (optionalList.isPresent()) {
-            log.debug("Redis에서 가져온 내역이 있음");
-            List<ChatMessageDTO> chatMessageDtos = optionalList.get();
-            //마지막 메세지 아이디
-            Long messageId = Long.valueOf(chatMessageDtos.get(chatMessageDtos.size() - 1).getMessageId());
-            log.debug("레디스에서 가져온 마지막 메세지 아이디:{}", messageId);
-
-            if (chatMessageDtos.size() < needCnt) {
-                int more = needCnt - chatMessageDtos.size();
-                // 20 개 - redis 로 가져온 내역 갯수 = 추가 내역 페이징
-                Pageable pageable = PageRequest.of(0, more); // 첫 페이지, 최대 20개
-                // redis 에서 가져온 마지막 아이디 보다 더 작은 메세지 추가로 가져오기
-                List<Messages> messagesList = messagesRepository.findByChatRoomIdAndMessageIdLessThanOrderedByMessageIdDesc(chatRoomId, messageId, pageable);
-                for (Messages m : messagesList) {
-                    Optional<User> optionalUser = userRepository.findById(m.getSenderId());
-                    String imgUrl = null;
-                    if (optionalUser.isPresent()) {
-                        imgUrl = optionalUser.get().getImageUrl();
-                    }
-
-                    ChatMessageDTO chatMessageDTO = ChatMessageDTO.builder()
-                            .messageId(m.getId().toString())
-                            .senderId(m.getSenderId())
-                            .roomId(m.getChatRoom().getId().toString())
-                            .content(m.getContent())
-                            .senderNickname(m.getSenderNickname())
-                            .timestamp(m.getCreationTime())
-                            .imgUrl(imgUrl)
-                            .build();
-                    optionalList.get().add(chatMessageDTO);
-                }
-                // 중복되는 거 지운 후 반환
-                Set<ChatMessageDTO> uniqueMessages = new LinkedHashSet<>(chatMessageDTOList);
-                return uniqueMessages.isEmpty() ? Collections.emptyList() : new ArrayList<>(uniqueMessages);
-            }
-        }
-        return optionalList.orElse(Collections.emptyList());
+
+    /**
+     * 여러 채팅방에서 마지막으로 받은 메세지 이후의 메세지를 조회한다.
+     * 참여하지 않은 채팅방은 결과에서 제외한다.
+     *
+     * @param userId         사용자 아이디
+     * @param lastMessageIds Map(채팅방 아이디, 마지막으로 받은 메세지 아이디)
+     * @return List(ChatSyncRoomDTO) 채팅방별 메세지 아이디 오름차순
+     */
+    @Override
+    public List<ChatSyncRoomDTO> syncMessages(Long userId, Map<Long, Long> lastMessageIds) {
+        return chatSyncReader.sync(userId, lastMessageIds);
     }
 
 
     /**
-     * 특정 방에 저장된 메세지 중 가장 마지막 메세지를 조회한다.
+     * 특정 방의 가장 마지막 메세지 아이디를 조회한다.
+     * 캐시된 채팅방 마지막 메세지를 먼저 확인하고, 없으면 메세지 아이디 역순으로 한 건만 조회한다.
      *
      * @param chatRoomId 채팅방 아이디
-     * @return Message
+     * @return 마지막 메세지 아이디(메세지가 없으면 null)
      */
     @Override
-    public Messages getLastMessageFromChatRoom(Long chatRoomId) {
-
-        List<Messages> allByChatRoom = messagesRepository.findAllByChatRoom(chatRoomId);
-        return allByChatRoom.get(0);
+    public Long getLastMessageId(Long chatRoomId) {
+        Long cached = redisService.getLastMessageId(chatRoomId);
+        if (cached != null) {
+            return cached;
+        }
+        List<Messages> latest = messagesRepository.findLatestByChatRoomId(chatRoomId, PageRequest.of(0, 1));
+        return latest.isEmpty() ? null : latest.get(0).getId();
     }
 
     /**
      * 사용자가 참여하고 있는 채팅방에 readIndex를 저장한다.
+     * Redis 에 먼저 저장하고 DB 에는 ChatReadIndexStore 가 주기적으로 반영한다.
      *
      * @param userId     사용자 아이디
      * @param chatRoomId 채팅방 아이디
      * @param readIndex  사용자가 마지막으로 읽은 메세지 인덱스
      */
     @Override
-    @Transactional
     public void saveReadIndex(Long userId, Long chatRoomId, Long readIndex) {
-
-        Optional<UserChatRoom> matchingChatRoom = userChatRoomRepository.findByUserChatroom(userId, chatRoomId);
-
-        // 해당하는 userchatRoom 의 readIndex 에 readIndex 를 업데이트
-        if (matchingChatRoom.isPresent()) {
-            UserChatRoom userChatRoom = matchingChatRoom.get();
-            userChatRoom.updateReadIndex(readIndex);
-        }
+        chatReadIndexStore.save(userId, chatRoomId, readIndex);
     }
 
 
@@ -644,6 +569,7 @@ public class ChatServiceImpl implements ChatService {
         if (optionalUserChatRoom.isPresent()) {
             UserChatRoom userChatRoom = optionalUserChatRoom.get();
             userChatRoom.delete();
+            chatRoomAccessCache.evictMember(userId, chatRoomId);
             return optionalUserChatRoom;
         }
 
@@ -651,6 +577,23 @@ public class ChatServiceImpl implements ChatService {
     }
 
 
+    /**
+     * 채팅방을 삭제한다.
+     * 채팅방과 참여 정보를 softDelete 하고 모든 서버의 채팅방 접근 캐시에서 제거한다.
+     *
+     * @param chatRoomId 채팅방 아이디
+     */
+    @Override
+    @Transactional
+    public void deleteChatRoom(Long chatRoomId) {
+        chatRoomRepository.findById(chatRoomId).ifPresent(chatRoom -> {
+            chatRoom.delete();
+            userChatRoomRepository.findByChat_Id(chatRoomId).forEach(UserChatRoom::delete);
+            chatRoomAccessCache.evictRoom(chatRoomId);
+        });
+    }
+
+
     /**
      * 채팅방에 최초 접속했는지 확인한다.
      *
@@ -683,6 +626,7 @@ public class ChatServiceImpl implements ChatService {
      * @param userId     사용자 아이디
      * @param chatRoomId 채팅방 아이디
      */
+    @Transactional
     public void createUserChatRoom(Long userId, Long chatRoomId) {
 
         // 유저 필드 가져오기
@@ -693,6 +637,15 @@ public class ChatServiceImpl implements ChatService {
         User user = optionalUser.get();
 
 
+        // 나갔던 농구장 채팅방이면 새로 만들지 않고 다시 참여 처리
+        Optional<UserChatRoom> exited = userChatRoomRepository.findByUserChatroom(userId, chatRoomId);
+        if (exited.isPresent()) {
+            exited.get().updateIsDelete(Boolean.FALSE);
+            chatRoomAccessCache.putMember(userId, chatRoomId);
+            log.debug("농구장 채팅방 재참여 : {}", exited.get().getId());
+            return;
+        }
+
         // 농구장 채팅방 필드 가져오기
         Optional<ChatRoom> optionalChatRoom = chatRoomRepository.findById(chatRoomId);
         if (optionalChatRoom.isPresent()) {
@@ -708,43 +661,9 @@ public class ChatServiceImpl implements ChatService {
                     .readIndex(0L)
                     .build();
             UserChatRoom saved = userChatRoomRepository.save(userChatRoom);
+            chatRoomAccessCache.putMember(userId, chatRoomId);
             log.debug("농구장 채팅방 userChatRoom 에 저장완료 : {}", saved);
         }
     }
 
-
-    /**
-     * redis 에서 메세지를 조회한다.
-     *
-     * @param userId     사용자 아이디
-     * @param chatRoomId 채팅방 아이디
-     * @param lastMessageId  기준 메세지 아이디
-     * @return List(ChatMessageDTO)
-     */
-    @Transactional(isolation = Isolation.READ_UNCOMMITTED)
-    @Override
-    public Optional<List<ChatMessageDTO>> redisFirstDataBaseLater(Long userId, Long chatRoomId,Long lastMessageId) {
-
-
-        // UserChatRoom 에 존재하는 지 먼저 검증
-        Optional<UserChatRoom> optionalUserChatRoom = userChatRoomRepository.findByUserChatroom(userId, chatRoomId);
-
-        // userChatRoom에서 방의 존재가 확인이 안되는 경우 empty 로 반환
-        if (optionalUserChatRoom.isEmpty()) {
-            throw new BaseException(ChatErrorResponseCode.CHAT_ROOM_NOT_FOUND);
-        }
-
-        // redis에서 과거 내역 조회 30개씩
-        List<ChatMessageDTO> messages = redisService.getMessages(chatRoomId, lastMessageId);
-
-        // redis에서 가져온데이터가 없으면 empty return
-        if (messages.isEmpty()) {
-            log.debug("레디스로 가져온 데이터가 없습니다.");
-            return Optional.empty();
-        }
-
-        // redis 로 가져온데이터 반환
-        return Optional.of(messages);
-    }
-
 }
@@ -0,0 +1,206 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sync.slamtalk.chat.dto.ChatErrorResponseCode;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.dto.response.ChatSyncRoomDTO;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.ChatQueryRepository;
+import sync.slamtalk.chat.repository.MessagesRepository;
+import sync.slamtalk.chat.service.SenderProfileResolver.SenderProfile;
+import sync.slamtalk.common.BaseException;
+
+import java.util.*;
+
+/**
+ * 여러 채팅방의 새 메세지 동기화
+ *
+ * <p>재접속한 클라이언트가 채팅방별로 마지막으로 받은 메세지 아이디를 보내면 그 이후의 메세지만 오래된 순으로 내려줍니다.
+ * <ol>
+ *     <li>캐시에 없는 참여 여부는 한 번의 쿼리로 확인하고, 참여하지 않은 채팅방은 결과에서 제외한다.</li>
+ *     <li>기준 메세지 이후가 Redis 연속 구간에 모두 있는 채팅방은 한 번의 파이프라인으로 가져온다.</li>
+ *     <li>나머지 채팅방은 chat.sync.rooms-per-query 개씩 묶어 묶음마다 한 번의 쿼리로 가져온다.</li>
+ *     <li>DB 에서 끝까지 가져온 채팅방은 아직 DB 에 반영되지 않은 메세지를 Redis 에서 한 번의 파이프라인으로 가져와 합친다.</li>
+ * </ol>
+ * 채팅방마다 최대 chat.sync.messages-per-room 개를 내려주고, 더 있으면 hasMore 로 알려줍니다.
+ * 보관 테이블(messages_archive)은 조회하지 않으므로 보관된 구간은 과거 내역 조회로 가져와야 합니다.
+ */
+@Slf4j
+@Component
+public class ChatSyncReader {
+
+    private final RedisService redisService;
+    private final MessagesRepository messagesRepository;
+    private final ChatQueryRepository chatQueryRepository;
+    private final ChatRoomAccessCache chatRoomAccessCache;
+    private final SenderProfileResolver senderProfileResolver;
+    private final int maxRooms;
+    private final int messagesPerRoom;
+    private final int roomsPerQuery;
+
+    public ChatSyncReader(RedisService redisService,
+                          MessagesRepository messagesRepository,
+                          ChatQueryRepository chatQueryRepository,
+                          ChatRoomAccessCache chatRoomAccessCache,
+                          SenderProfileResolver senderProfileResolver,
+                          @Value("${chat.sync.max-rooms:100}") int maxRooms,
+                          @Value("${chat.sync.messages-per-room:50}") int messagesPerRoom,
+                          @Value("${chat.sync.rooms-per-query:25}") int roomsPerQuery) {
+        this.redisService = redisService;
+        this.messagesRepository = messagesRepository;
+        this.chatQueryRepository = chatQueryRepository;
+        this.chatRoomAccessCache = chatRoomAccessCache;
+        this.senderProfileResolver = senderProfileResolver;
+        this.maxRooms = maxRooms;
+        this.messagesPerRoom = messagesPerRoom;
+        this.roomsPerQuery = roomsPerQuery;
+    }
+
+    /**
+     * 채팅방별 마지막으로 받은 메세지 이후의 메세지를 조회한다.
+     *
+     * @param userId         사용자 아이디
+     * @param lastMessageIds Map(채팅방 아이디, 마지막으로 받은 메세지 아이디(없으면 null))
+     * @return List(ChatSyncRoomDTO) 요청한 채팅방 순서, 참여하지 않은 채팅방 제외
+     */
+    public List<ChatSyncRoomDTO> sync(Long userId, Map<Long, Long> lastMessageIds) {
+        if (lastMessageIds == null || lastMessageIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (lastMessageIds.size() > maxRooms) {
+            throw new BaseException(ChatErrorResponseCode.CHAT_SYNC_TOO_MANY_ROOMS);
+        }
+
+        // 참여 중인 채팅방만 남기기(요청 순서 유지)
+        Set<Long> joined = findJoinedRoomIds(userId, lastMessageIds.keySet());
+        Map<Long, Long> rooms = new LinkedHashMap<>();
+        lastMessageIds.forEach((roomId, messageId) -> {
+            if (roomId != null && joined.contains(roomId)) {
+                rooms.put(roomId, messageId == null ? 0L : messageId);
+            }
+        });
+        if (rooms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 한 건 더 가져와서 남은 메세지가 있는지 확인
+        int limit = messagesPerRoom + 1;
+
+        // redis 먼저 조회
+        Map<Long, List<ChatMessageDTO>> messagesByRoom = new HashMap<>(redisService.getMessagesAfter(rooms, limit, true));
+        log.debug("=== redis 에서 동기화한 채팅방 : {}개 ===", messagesByRoom.size());
+
+        // 나머지 채팅방은 묶어서 DB 에서 조회
+        Map<Long, Long> missed = new LinkedHashMap<>();
+        rooms.forEach((roomId, messageId) -> {
+            if (!messagesByRoom.containsKey(roomId)) {
+                missed.put(roomId, messageId);
+            }
+        });
+        if (!missed.isEmpty()) {
+            loadFromDatabase(missed, limit, messagesByRoom);
+        }
+
+        List<ChatSyncRoomDTO> result = new ArrayList<>(rooms.size());
+        List<ChatMessageDTO> all = new ArrayList<>();
+        for (Long roomId : rooms.keySet()) {
+            List<ChatMessageDTO> messages = messagesByRoom.getOrDefault(roomId, Collections.emptyList());
+            boolean hasMore = messages.size() > messagesPerRoom;
+            if (hasMore) {
+                messages = new ArrayList<>(messages.subList(0, messagesPerRoom));
+            }
+            all.addAll(messages);
+            result.add(ChatSyncRoomDTO.builder()
+                    .roomId(roomId.toString())
+                    .messages(messages)
+                    .hasMore(hasMore)
+                    .build());
+        }
+
+        // 작성자 이미지 한 번에 채우기
+        Map<Long, SenderProfile> profiles = senderProfileResolver.resolve(
+                all.stream().map(ChatMessageDTO::getSenderId).toList());
+        for (ChatMessageDTO message : all) {
+            SenderProfile profile = profiles.get(message.getSenderId());
+            message.setImgUrl(profile != null ? profile.imageUrl() : null);
+        }
+        return result;
+    }
+
+
+    /**
+     * 캐시에 없는 채팅방만 한 번의 쿼리로 참여 여부를 확인한다.
+     */
+    private Set<Long> findJoinedRoomIds(Long userId, Set<Long> roomIds) {
+        Set<Long> joined = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            if (roomId == null) {
+                continue;
+            }
+            if (chatRoomAccessCache.isMember(userId, roomId)) {
+                joined.add(roomId);
+            } else {
+                unknown.add(roomId);
+            }
+        }
+
+        if (!unknown.isEmpty()) {
+            for (Long roomId : chatQueryRepository.findJoinedRoomIds(userId, unknown)) {
+                chatRoomAccessCache.putMember(userId, roomId);
+                joined.add(roomId);
+            }
+        }
+        return joined;
+    }
+
+
+    /**
+     * DB 에서 채팅방을 묶어서 조회하고, 끝까지 가져온 채팅방은 Redis 에만 있는 메세지를 합친다.
+     * 메세지 아이디는 발급 순서이지만 DB 반영 순서는 아니므로, 아직 반영되지 않은 메세지가 DB 의 마지막 메세지보다
+     * 앞설 수 있다. 그래서 Redis 도 기준 메세지 이후부터 조회하고 메세지 아이디로 중복을 제거해 합친다.
+     */
+    private void loadFromDatabase(Map<Long, Long> rooms, int limit, Map<Long, List<ChatMessageDTO>> messagesByRoom) {
+        List<Long> roomIds = new ArrayList<>(rooms.keySet());
+        for (int from = 0; from < roomIds.size(); from += roomsPerQuery) {
+            Map<Long, Long> chunk = new HashMap<>();
+            for (Long roomId : roomIds.subList(from, Math.min(from + roomsPerQuery, roomIds.size()))) {
+                chunk.put(roomId, rooms.get(roomId));
+                messagesByRoom.put(roomId, new ArrayList<>());
+            }
+            List<ChatMessageDTO> rows = messagesRepository.findAfterByChatRoomIds(chunk, limit);
+            for (ChatMessageDTO row : rows) {
+                messagesByRoom.get(Long.parseLong(row.getRoomId())).add(row);
+            }
+            log.debug("=== DB 에서 동기화한 채팅방 : {}개, 메세지 {}건 ===", chunk.size(), rows.size());
+        }
+
+        // DB 에서 끝까지 가져온 채팅방은 기준 메세지 이후를 Redis 에서도 조회
+        // 합친 결과의 앞 limit 개 중 Redis 에만 있는 메세지는 Redis 조회의 앞 limit 개 안에 있다.
+        Map<Long, Long> tails = new HashMap<>();
+        for (Long roomId : roomIds) {
+            if (messagesByRoom.get(roomId).size() < limit) {
+                tails.put(roomId, rooms.get(roomId));
+            }
+        }
+        redisService.getMessagesAfter(tails, limit, false).forEach((roomId, pending) -> {
+            if (pending.isEmpty()) {
+                return;
+            }
+            TreeMap<Long, ChatMessageDTO> merged = new TreeMap<>();
+            for (ChatMessageDTO message : messagesByRoom.get(roomId)) {
+                merged.put(Long.parseLong(message.getMessageId()), message);
+            }
+            for (ChatMessageDTO message : pending) {
+                merged.putIfAbsent(Long.parseLong(message.getMessageId()), message);
+            }
+            List<ChatMessageDTO> messages = new ArrayList<>(merged.values());
+            if (messages.size() > limit) {
+                messages.subList(limit, messages.size()).clear();
+            }
+            messagesByRoom.put(roomId, messages);
+        });
+    }
+}
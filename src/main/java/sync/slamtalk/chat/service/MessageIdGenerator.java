@@ -0,0 +1,141 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메세지 아이디 생성기
+ *
+ * <p>DB 왕복 없이 시간 순서대로 증가하는 메세지 아이디를 발급합니다.
+ * 아이디는 [타임스탬프(ms) 41bit | 노드 5bit | 시퀀스 7bit] 로 구성됩니다.
+ * 클라이언트(JavaScript)에서 정밀도 손실 없이 다룰 수 있도록 전체 길이를 53bit 로 제한했습니다.
+ *
+ * <p>같은 노드에서 발급된 아이디는 항상 증가하고, 기존 IDENTITY 로 발급된 아이디보다 항상 큽니다.
+ * 노드 간 시계 차이가 있어도 채팅방 안에서 아이디가 증가하도록, 채팅 메세지는 {@link #nextIdAfter(long)} 로
+ * 채팅방의 마지막 아이디보다 큰 아이디를 발급합니다(하이브리드 논리 시계).
+ * 여러 서버로 실행하는 경우(chat.broker.mode=redis) 서버마다 다른 chat.message-id.node 를 지정해야 하며,
+ * 지정하지 않으면 아이디가 겹치므로 시작하지 않습니다.
+ *
+ * <p>Hibernate 식별자 생성기({@link sync.slamtalk.chat.entity.MessageIdentifierGenerator})는 {@link #shared()} 로
+ * 스프링 빈과 같은 인스턴스를 사용해 같은 순서로 아이디를 발급합니다.
+ * 빈이 초기화되기 전에는 노드 번호를 알 수 없으므로 발급하지 않습니다.
+ */
+@Slf4j
+@Component
+public class MessageIdGenerator implements InitializingBean {
+
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH = 1704067200000L;
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 7;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Hibernate 식별자 생성기가 사용하는 인스턴스
+    private static volatile MessageIdGenerator shared;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    @Autowired
+    public MessageIdGenerator(@Value("${chat.message-id.node:}") String node,
+                              @Value("${chat.broker.mode:local}") String brokerMode) {
+        this(resolveNodeId(node, brokerMode));
+    }
+
+    public MessageIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("chat.message-id.node 는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다.");
+        }
+        this.nodeId = nodeId;
+    }
+
+    private static long resolveNodeId(String node, String brokerMode) {
+        if (node != null && !node.isBlank()) {
+            return Long.parseLong(node.trim());
+        }
+        // 여러 서버가 같은 노드 번호로 아이디를 발급하면 아이디가 겹침
+        if ("redis".equalsIgnoreCase(brokerMode)) {
+            throw new IllegalStateException("chat.broker.mode=redis 인 경우 chat.message-id.node 를 서버마다 다르게 지정해야 합니다.");
+        }
+        return 0L;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        shared = this;
+        log.info("=== 메세지 아이디 노드 : {} ===", nodeId);
+    }
+
+    /**
+     * 새로운 메세지 아이디를 발급합니다.
+     * 시계가 뒤로 가거나 같은 ms 안에서 시퀀스를 모두 사용한 경우 마지막 타임스탬프를 이어서 사용하므로
+     * 대기 없이 항상 이전보다 큰 아이디를 반환합니다.
+     *
+     * @return 메세지 아이디
+     */
+    public synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+
+        if (timestamp <= lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            timestamp = lastTimestamp;
+            if (sequence == 0) {
+                // 시퀀스 소진 -> 다음 ms 를 미리 사용
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    /**
+     * floor 보다 큰 메세지 아이디를 발급합니다.
+     * floor 가 다른 노드에서 더 늦은 시각으로 발급된 아이디면 이 노드의 시계를 floor 의 다음 ms 로 앞당깁니다.
+     *
+     * @param floor 채팅방에서 마지막으로 확정된 메세지 아이디
+     * @return floor 보다 큰 메세지 아이디
+     */
+    public synchronized long nextIdAfter(long floor) {
+        long floorTimestamp = (floor >> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+        if (lastTimestamp <= floorTimestamp) {
+            // 다음 발급은 시퀀스가 넘쳐 floor 의 다음 ms 이후를 사용
+            lastTimestamp = floorTimestamp;
+            sequence = SEQUENCE_MASK;
+        }
+        return nextId();
+    }
+
+    /**
+     * 스프링 컨텍스트 밖(Hibernate 식별자 생성기)에서 사용하는 인스턴스
+     *
+     * @throws IllegalStateException 스프링 빈이 아직 초기화되지 않은 경우
+     */
+    public static MessageIdGenerator shared() {
+        MessageIdGenerator generator = shared;
+        if (generator == null) {
+            throw new IllegalStateException("MessageIdGenerator 빈이 초기화되기 전에는 메세지 아이디를 발급할 수 없습니다.");
+        }
+        return generator;
+    }
+
+    /**
+     * 특정 시각 이후에 발급되는 아이디의 하한
+     * 이 값보다 작은 아이디는 해당 시각 이전에 발급되었거나 기존 IDENTITY 로 발급된 아이디입니다.
+     *
+     * @param epochMillis 기준 시각(ms)
+     * @return 기준 시각의 첫 메세지 아이디
+     */
+    public static long firstIdAt(long epochMillis) {
+        return Math.max(0L, epochMillis - EPOCH) << (NODE_BITS + SEQUENCE_BITS);
+    }
+}
@@ -0,0 +1,81 @@
+package sync.slamtalk.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sync.slamtalk.common.cache.LocalTtlCache;
+import sync.slamtalk.user.UserRepository;
+import sync.slamtalk.user.entity.User;
+import sync.slamtalk.user.event.UserProfileUpdatedEvent;
+
+import java.util.*;
+
+/**
+ * 메세지 작성자 프로필 조회기
+ *
+ * <p>메세지 페이지의 작성자 아이디를 모아 캐시에 없는 사용자만 한 번의 findAllById 로 조회합니다.
+ * 조회 결과는 크기와 만료 시간이 제한된 로컬 캐시에 보관하고,
+ * 사용자가 닉네임이나 프로필 이미지를 변경하면 해당 사용자의 캐시를 제거하고,
+ * 여러 서버로 실행하는 경우(chat.broker.mode=redis) SenderProfileCacheRelay 가 다른 서버에도 전달합니다.
+ */
+@Slf4j
+@Component
+public class SenderProfileResolver {
+
+    private final UserRepository userRepository;
+    private final LocalTtlCache<Long, SenderProfile> cache;
+
+    public SenderProfileResolver(UserRepository userRepository,
+                                 @Value("${chat.sender-profile.cache.max-size:10000}") int maxSize,
+                                 @Value("${chat.sender-profile.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = new LocalTtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * 작성자 프로필을 한 번에 조회한다.
+     * 존재하지 않는 사용자는 결과에 포함되지 않는다.
+     *
+     * @param senderIds 작성자 아이디 목록(중복 허용)
+     * @return Map(작성자 아이디, 프로필)
+     */
+    public Map<Long, SenderProfile> resolve(Collection<Long> senderIds) {
+        Set<Long> distinctIds = new HashSet<>(senderIds);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, SenderProfile> profiles = new HashMap<>(cache.getAll(distinctIds));
+        distinctIds.removeAll(profiles.keySet());
+
+        if (!distinctIds.isEmpty()) {
+            for (User user : userRepository.findAllById(distinctIds)) {
+                SenderProfile profile = new SenderProfile(user.getNickname(), user.getImageUrl());
+                cache.put(user.getId(), profile);
+                profiles.put(user.getId(), profile);
+            }
+            log.debug("=== 작성자 프로필 조회 : 캐시 미스 {}명 ===", distinctIds.size());
+        }
+        return profiles;
+    }
+
+    /**
+     * 프로필이 변경된 사용자의 캐시를 제거한다.
+     */
+    @TransactionalEventListener(UserProfileUpdatedEvent.class)
+    public void evict(UserProfileUpdatedEvent event) {
+        evictLocally(event.userId());
+    }
+
+    /**
+     * 이 서버의 캐시만 제거(다른 서버에서 전달된 제거)
+     */
+    public void evictLocally(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public record SenderProfile(String nickname, String imageUrl) {
+    }
+}
@@ -0,0 +1,95 @@
+package sync.slamtalk.common.cache;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 크기 제한과 만료 시간을 가진 로컬(프로세스 내) 캐시
+ *
+ * <p>최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거(LRU)하고,
+ * 만료 시간이 지난 항목은 조회 시점에 제거합니다.
+ * 여러 스레드에서 동시에 사용할 수 있도록 모든 연산은 동기화되어 있습니다.
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입(null 은 저장하지 않음)
+ */
+public class LocalTtlCache<K, V> {
+
+    private final long ttlMillis;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> store;
+
+    public LocalTtlCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, Clock.systemUTC());
+    }
+
+    public LocalTtlCache(int maxSize, long ttlMillis, Clock clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.store = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 값을 조회합니다. 없거나 만료된 경우 null 을 반환합니다.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            store.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 여러 키를 한 번에 조회합니다. 캐시에 있는 키만 결과에 포함됩니다.
+     */
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> found = new HashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                found.put(key, value);
+            }
+        }
+        return found;
+    }
+
+    public synchronized void put(K key, V value) {
+        store.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+    }
+
+    public synchronized void invalidate(K key) {
+        store.remove(key);
+    }
+
+    /**
+     * 조건에 맞는 키를 모두 제거합니다.
+     */
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        store.keySet().removeIf(predicate);
+    }
+
+    public synchronized void invalidateAll() {
+        store.clear();
+    }
+
+    public synchronized int size() {
+        return store.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
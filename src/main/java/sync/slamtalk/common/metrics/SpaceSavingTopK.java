@@ -0,0 +1,108 @@
+package sync.slamtalk.common.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 크기가 제한된 상위 K 빈도 추적기(Space-Saving)
+ *
+ * <p>최대 capacity 개의 키만 카운터를 가지며, 추적하지 않던 키가 들어오면 가장 작은 카운터를 물려받습니다.
+ * 따라서 키의 종류가 아무리 많아도 메모리는 capacity 로 제한되고,
+ * 추정값(count)은 실제 빈도보다 작지 않으며 실제 빈도는 count - error 보다 작지 않습니다.
+ * 여러 스레드에서 동시에 사용할 수 있도록 모든 연산은 동기화되어 있습니다.
+ *
+ * @param <K> 키 타입
+ */
+public class SpaceSavingTopK<K> {
+
+    private final int capacity;
+    private final Map<K, Counter> counters;
+
+    public SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(K key) {
+        add(key, 1L);
+    }
+
+    public synchronized void add(K key, long weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(weight, 0L));
+            return;
+        }
+
+        // 가장 작은 카운터를 새 키가 물려받음
+        K minKey = null;
+        Counter min = null;
+        for (Map.Entry<K, Counter> entry : counters.entrySet()) {
+            if (min == null || entry.getValue().count < min.count) {
+                minKey = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, new Counter(min.count + weight, min.count));
+    }
+
+    /**
+     * 추정 빈도가 높은 순서로 최대 k 개 조회
+     */
+    public synchronized List<Entry<K>> top(int k) {
+        List<Entry<K>> entries = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> entries.add(new Entry<>(key, counter.count, counter.error)));
+        entries.sort(Comparator.comparingLong((Entry<K> entry) -> entry.count()).reversed());
+        return entries.size() > k ? new ArrayList<>(entries.subList(0, k)) : entries;
+    }
+
+    /**
+     * 모든 카운터를 절반으로 줄임(0 이 된 키는 제거)
+     * 주기적으로 호출하면 최근 빈도에 더 큰 비중을 둡니다.
+     */
+    public synchronized void decay() {
+        Iterator<Counter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            Counter counter = iterator.next();
+            counter.count /= 2;
+            counter.error /= 2;
+            if (counter.count == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    /**
+     * @param key   키
+     * @param count 추정 빈도(실제 빈도 이상)
+     * @param error 최대 과대 추정량
+     */
+    public record Entry<K>(K key, long count, long error) {
+    }
+
+    private static final class Counter {
+        private long count;
+        private long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
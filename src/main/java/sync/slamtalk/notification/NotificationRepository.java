@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import sync.slamtalk.notification.custom.CustomNotificationRepository;
 import sync.slamtalk.notification.model.Notification;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long>, CustomNotificationRepository {
@@ -35,7 +36,12 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 	 */
 	void deleteAllByUserId(Long userId);
 
-	@Query("delete from Notification where userChatRoom.id = :chatRoomId and userId=:userId")
+	/**
+	 * 특정 회원의 채팅방 알림 일괄 삭제
+	 * @param userId 회원 ID
+	 * @param userChatRoomIds 사용자 채팅방 ID 목록
+	 */
+	@Query("delete from Notification n where n.userId = :userId and n.userChatRoom.id in :userChatRoomIds")
 	@Modifying
-	void deleteNotificationBy(Long userId, Long chatRoomId);
+	void deleteChatNotificationsBy(Long userId, Collection<Long> userChatRoomIds);
 }
@@ -1,8 +1,11 @@
 package sync.slamtalk.notification;
 
 import sync.slamtalk.notification.dto.request.ChatNotificationRequest;
+import sync.slamtalk.notification.dto.request.GroupedChatNotificationRequest;
 import sync.slamtalk.notification.dto.request.NotificationRequest;
 
+import java.util.List;
+
 public interface NotificationSender {
     /**
      * Notification 생성
@@ -15,4 +18,10 @@ public interface NotificationSender {
      * @param request
      */
     void send(ChatNotificationRequest request);
+
+    /**
+     * 여러 채팅방의 ChatNotification 을 한 번에 생성
+     * @param requests
+     */
+    void sendAll(List<GroupedChatNotificationRequest> requests);
 }
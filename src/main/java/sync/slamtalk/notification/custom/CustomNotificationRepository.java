@@ -1,8 +1,10 @@
 package sync.slamtalk.notification.custom;
 
 import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.notification.dto.request.GroupedChatNotificationRequest;
 import sync.slamtalk.notification.model.NotificationType;
 
+import java.util.List;
 import java.util.Set;
 
 public interface CustomNotificationRepository {
@@ -23,4 +25,10 @@ public interface CustomNotificationRepository {
 	 * @param chatRoomId 채팅방 아이디
 	 */
 	void insertNotifications(String message, String uri, Set<Long> memberIds ,Long chatRoomId,Long userId, NotificationType notificationType);
+
+	/**
+	 * 채팅 알림 묶음 등록
+	 * @param requests 채팅방별 알림 내용과 대상(사용자 아이디 -> 사용자 채팅방 아이디)
+	 */
+	void insertChatNotifications(List<GroupedChatNotificationRequest> requests);
 }
@@ -6,6 +6,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.transaction.annotation.Transactional;
+import sync.slamtalk.notification.dto.request.GroupedChatNotificationRequest;
 import sync.slamtalk.notification.model.NotificationType;
 
 import java.sql.Statement;
@@ -70,6 +71,31 @@ public class CustomNotificationRepositoryImpl implements CustomNotificationRepos
 		jdbcTemplate.batchUpdate(INSERT_CHATNOTIFICATION_SQL, parameters);
 	}
 
+	/**
+	 * 채팅 알림 묶음 등록
+	 * <p>채팅방마다 알림 내용을 하나씩 등록하고, 모든 채팅방의 대상 사용자 알림은 한 번의 batchUpdate로 등록합니다.
+	 *
+	 * @param requests 채팅방별 알림 내용과 대상
+	 */
+	@Override
+	@Transactional
+	public void insertChatNotifications(List<GroupedChatNotificationRequest> requests) {
+		List<Object[]> parameters = new ArrayList<>();
+		for (GroupedChatNotificationRequest request : requests) {
+			if (request.getTargets().isEmpty()) {
+				continue;
+			}
+			long notificationContentId = saveNotificationContent(request.getMessage(), request.getUri(), request.getUserId(), request.getNotificationType());
+			request.getTargets().forEach((memberId, userChatRoomId) ->
+				parameters.add(new Object[] {notificationContentId, memberId, userChatRoomId}));
+		}
+		if (parameters.isEmpty()) {
+			return;
+		}
+
+		jdbcTemplate.batchUpdate(INSERT_CHATNOTIFICATION_SQL, parameters);
+	}
+
 	/**
 	 * Notification_Content 테이블에 알림 내용을 등록합니다.
 	 * @param message 알림 메시지
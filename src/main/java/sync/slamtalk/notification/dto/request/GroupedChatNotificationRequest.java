@@ -0,0 +1,27 @@
+package sync.slamtalk.notification.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import sync.slamtalk.notification.NotificationSender;
+import sync.slamtalk.notification.model.NotificationType;
+
+import java.util.Map;
+
+/**
+ * 채팅방 단위 채팅 알림 요청 DTO
+ * <p>한 채팅방의 여러 사용자에게 같은 내용의 알림을 보낼 때 사용합니다.
+ * 사용자마다 사용자 채팅방이 다르므로 target 은 사용자 아이디와 사용자 채팅방 아이디의 쌍으로 {@link NotificationSender}에게 전달합니다.
+ */
+@EqualsAndHashCode
+@ToString
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class GroupedChatNotificationRequest {
+    private String message;
+    private String uri;
+    private Map<Long, Long> targets; // 사용자 아이디 -> 사용자 채팅방 아이디
+    private Long userId;
+    private NotificationType notificationType;
+}
@@ -5,8 +5,11 @@ import org.springframework.stereotype.Component;
 import sync.slamtalk.notification.NotificationRepository;
 import sync.slamtalk.notification.NotificationSender;
 import sync.slamtalk.notification.dto.request.ChatNotificationRequest;
+import sync.slamtalk.notification.dto.request.GroupedChatNotificationRequest;
 import sync.slamtalk.notification.dto.request.NotificationRequest;
 
+import java.util.List;
+
 /**
  * 인앱 알림을 전송하는 역할을 하는 클래스
  *
@@ -37,4 +40,16 @@ public class InAppNotificationSender implements NotificationSender {
 	public void send(ChatNotificationRequest request) {
 		notificationRepository.insertNotifications(request.getMessage(),request.getUri(),request.getTargets(),request.getChatRoomId(),request.getUserId(),request.getNotificationType());
 	}
+
+	/**
+	 * 여러 채팅방의 Notification을 한 번에 전송합니다.
+	 * @param requests GroupedChatNotificationRequest 목록
+	 */
+	@Override
+	public void sendAll(List<GroupedChatNotificationRequest> requests) {
+		if (requests.isEmpty()) {
+			return;
+		}
+		notificationRepository.insertChatNotifications(requests);
+	}
 }
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import sync.slamtalk.chat.entity.UserChatRoom;
 import sync.slamtalk.common.BaseException;
 import sync.slamtalk.common.ErrorResponseCode;
 import sync.slamtalk.notification.NotificationRepository;
@@ -13,6 +12,7 @@ import sync.slamtalk.notification.model.Notification;
 import sync.slamtalk.user.UserRepository;
 import sync.slamtalk.user.entity.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -101,23 +101,15 @@ public class NotificationService {
 	}
 
 	/**
-	 * 유저의 특정 채팅방 알림 지우기
-	 * @param userId
-	 * @param chatRoomId
+	 * 유저의 채팅방 알림 지우기
+	 * @param userId 회원 ID
+	 * @param userChatRoomIds 사용자 채팅방 ID 목록
 	 */
-	public void deleteChatNotification(Long userId,Long chatRoomId){
-		// 특정 회원의 특정 채팅방 모든 알림 조회
-		List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-
-		// 연관 관계 해제
-		for(Notification notification : notifications){
-			UserChatRoom userChatRoom = notification.getUserChatRoom();
-			if(userChatRoom != null){
-				userChatRoom.removeNotification(notification); // 연관 관계 해제
-			}
+	public void deleteChatNotifications(Long userId, Collection<Long> userChatRoomIds){
+		if(userChatRoomIds.isEmpty()){
+			return;
 		}
-
-		// 알림 삭제
-		notificationRepository.deleteNotificationBy(userId,chatRoomId);
+		// 알림을 조회하지 않고 한 번의 쿼리로 삭제
+		notificationRepository.deleteChatNotificationsBy(userId, userChatRoomIds);
 	}
 }
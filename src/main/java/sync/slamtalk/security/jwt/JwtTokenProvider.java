@@ -169,6 +169,22 @@ public class JwtTokenProvider implements InitializingBean {
         return Long.valueOf(claims.getSubject());
     }
 
+    /**
+     * 웹소켓 STOMP CONNECT 시 accessToken 을 검증하고 사용자 아이디와 만료 시각을 반환하는 메서드
+     *
+     * @param accessToken
+     * @return StompPrincipal 세션에 저장할 인증 정보
+     */
+    public StompPrincipal stompAuthenticate(String accessToken) {
+        // 웹 소켓에서 오는 Bearer 키워드 제거하기
+        String token = resolveToken(accessToken);
+
+        // Jwt 토큰 복호화
+        Claims claims = getClaimsFromAccessToken(token);
+
+        return new StompPrincipal(Long.valueOf(claims.getSubject()), claims.getExpiration().toInstant());
+    }
+
     /**
      * accessToken에서 서명 검증 및 Claims 반환하는 메서드
      *
@@ -0,0 +1,23 @@
+package sync.slamtalk.security.jwt;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * STOMP CONNECT 에서 인증된 사용자
+ * 웹소켓 세션에 저장되어 이후 프레임에서는 토큰을 다시 검증하지 않습니다.
+ *
+ * @param userId    사용자 아이디
+ * @param expiresAt 엑세스 토큰 만료 시각
+ */
+public record StompPrincipal(Long userId, Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return userId.toString();
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,4 @@
+package sync.slamtalk.user.event;
+
+public record UserProfileUpdatedEvent(Long userId) {
+}
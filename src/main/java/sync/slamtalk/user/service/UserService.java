@@ -2,6 +2,7 @@ package sync.slamtalk.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -31,6 +32,7 @@ import sync.slamtalk.user.entity.UserAttendance;
 import sync.slamtalk.user.entity.UserBasketballPositionType;
 import sync.slamtalk.user.entity.UserBasketballSkillLevelType;
 import sync.slamtalk.user.error.UserErrorResponseCode;
+import sync.slamtalk.user.event.UserProfileUpdatedEvent;
 import sync.slamtalk.user.repository.UserAttendanceRepository;
 import sync.slamtalk.user.utils.UserLevelScore;
 
@@ -55,6 +57,7 @@ public class UserService {
     private final CommunityRepository communityRepository;
     private final AwsS3RepositoryImpl awsS3Service;
     private final EntityToDtoMapper entityToDtoMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 유저의 마이페이지 보기 조회시 사용되는 서비스
@@ -185,6 +188,7 @@ public class UserService {
         log.debug("유저 아이디 " + userId);
         checkNicknameExistence(userUpdateNicknameReq.getNickname());
         userRepository.updateUserNickname(userId, userUpdateNicknameReq.getNickname());
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId));
     }
 
     /**
@@ -260,6 +264,7 @@ public class UserService {
             log.debug("[유저 마이페이지 수정] 닉네임 변경 시도!");
             checkNicknameExistence(updateUserDetailInfoReq.getNickname());
             user.updateNickname(updateUserDetailInfoReq.getNickname());
+            eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId));
         }
 
         // 이미지 파일이 존재한다면 업데이트
@@ -267,6 +272,7 @@ public class UserService {
             log.debug("[유저 마이페이지 수정] 파일 업데이트 시도!");
             String fileUrl = awsS3Service.uploadFile(file);
             user.updateImageUrl(fileUrl);
+            eventPublisher.publishEvent(new UserProfileUpdatedEvent(userId));
         }
 
         // 자기 소개 한마디이 null이 아니라면 값 update 하기
@@ -0,0 +1,84 @@
+package sync.slamtalk.chat.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StompHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StompHandler stompHandler = new StompHandler(null, null, null, objectMapper, null);
+
+    private ChatMessageDTO parse(String json) {
+        return stompHandler.parseChatMessage(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("닉네임과 내용은 기존 트리 파싱(JsonNode.toString)과 같은 형식으로 추출된다")
+    void parseChatMessageKeepsJsonLiteral() throws Exception {
+        String json = "{\"visited\":true,\"senderId\":7,\"senderNickname\":\"슬램\\\"톡\","
+                + "\"content\":\"안녕\\n\\\\하세요\\u0001\",\"extra\":{\"a\":[1,2]}}";
+
+        ChatMessageDTO dto = parse(json);
+
+        assertThat(dto.getSenderId()).isEqualTo(7L);
+        assertThat(dto.getSenderNickname()).isEqualTo(objectMapper.readTree(json).get("senderNickname").toString());
+        assertThat(dto.getContent()).isEqualTo(objectMapper.readTree(json).get("content").toString());
+    }
+
+    @Test
+    @DisplayName("내용이 없으면 content 는 null 이다")
+    void parseChatMessageWithoutContent() {
+        ChatMessageDTO dto = parse("{\"senderId\":\"3\",\"senderNickname\":\"nick\"}");
+
+        assertThat(dto.getSenderId()).isEqualTo(3L);
+        assertThat(dto.getContent()).isNull();
+    }
+
+    @Test
+    @DisplayName("senderId 가 없으면 예외가 발생한다")
+    void parseChatMessageWithoutSenderId() {
+        assertThatThrownBy(() -> parse("{\"content\":\"hi\"}"))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    @DisplayName("clientMessageId 는 문자열/숫자만 추출하고 다른 형식은 무시한다")
+    void parseChatMessageClientMessageId() {
+        assertThat(parse("{\"senderId\":1,\"clientMessageId\":\"a1b2\",\"content\":\"hi\"}").getClientMessageId())
+                .isEqualTo("a1b2");
+        assertThat(parse("{\"senderId\":1,\"clientMessageId\":42}").getClientMessageId())
+                .isEqualTo("42");
+
+        ChatMessageDTO dto = parse("{\"senderId\":1,\"clientMessageId\":{\"id\":1},\"content\":\"hi\"}");
+        assertThat(dto.getClientMessageId()).isNull();
+        assertThat(dto.getContent()).isEqualTo("\"hi\"");
+    }
+
+    @Test
+    @DisplayName("발행할 본문에는 보낸 필드를 유지하고 서버가 발급한 메세지 아이디와 작성 시간을 채운다")
+    void withServerFields() throws Exception {
+        String json = "{\"senderId\":1,\"senderNickname\":\"nick\",\"content\":\"hi\",\"clientMessageId\":\"c-1\"}";
+        ChatMessageDTO saved = ChatMessageDTO.builder()
+                .messageId("123")
+                .roomId("10")
+                .timestamp("2024-01-01T00:00:00")
+                .build();
+
+        byte[] payload = stompHandler.withServerFields(json.getBytes(StandardCharsets.UTF_8), saved);
+
+        JsonNode node = objectMapper.readTree(payload);
+        assertThat(node.get("messageId").asText()).isEqualTo("123");
+        assertThat(node.get("roomId").asText()).isEqualTo("10");
+        assertThat(node.get("timestamp").asText()).isEqualTo("2024-01-01T00:00:00");
+        assertThat(node.get("content").asText()).isEqualTo("hi");
+        assertThat(node.get("clientMessageId").asText()).isEqualTo("c-1");
+    }
+}
@@ -0,0 +1,49 @@
+package sync.slamtalk.chat.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import sync.slamtalk.security.jwt.StompPrincipal;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StompSessionRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StompSessionRegistry registry = new StompSessionRegistry(meterRegistry);
+
+    @Test
+    @DisplayName("CONNECT 가 끝난 세션이 전송 제한으로 종료되면 느린 소비자로 기록한다")
+    void countSlowConsumer() {
+        registry.authenticate("s-1", new StompPrincipal(1L, Instant.now().plusSeconds(60)));
+
+        registry.unregister("s-1", CloseStatus.SESSION_NOT_RELIABLE);
+
+        assertThat(slowConsumerDisconnects()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("CONNECT 를 보내지 않아 종료된 세션은 느린 소비자로 기록하지 않는다")
+    void ignoreSessionWithoutConnect() {
+        registry.unregister("s-2", CloseStatus.SESSION_NOT_RELIABLE);
+
+        assertThat(slowConsumerDisconnects()).isZero();
+    }
+
+    @Test
+    @DisplayName("정상 종료는 느린 소비자로 기록하지 않는다")
+    void ignoreNormalClose() {
+        registry.authenticate("s-3", new StompPrincipal(1L, Instant.now().plusSeconds(60)));
+
+        registry.unregister("s-3", CloseStatus.NORMAL);
+
+        assertThat(slowConsumerDisconnects()).isZero();
+    }
+
+    private double slowConsumerDisconnects() {
+        return meterRegistry.get("chat.websocket.slow-consumer.disconnects").counter().count();
+    }
+}
@@ -0,0 +1,300 @@
+package sync.slamtalk.chat.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.websocket.server.ServerContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import redis.embedded.RedisServer;
+import sync.slamtalk.chat.config.ChatInboundInterceptor;
+import sync.slamtalk.chat.config.StompChannelExecutorFactory;
+import sync.slamtalk.chat.config.StompErrorHandler;
+import sync.slamtalk.chat.config.StompSessionRegistry;
+import sync.slamtalk.chat.config.StompWebSocketConfig;
+import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.chat.service.ChatRoomAccessCache;
+import sync.slamtalk.chat.service.SenderProfileResolver;
+import sync.slamtalk.user.UserRepository;
+import sync.slamtalk.user.entity.User;
+import sync.slamtalk.user.event.UserProfileUpdatedEvent;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 두 개의 애플리케이션 컨텍스트(서버)가 같은 Redis 를 사용할 때
+ * 실제 웹소켓 설정(StompWebSocketConfig)으로 등록된 중계기를 통해 한 서버에서 발행한 메세지가
+ * 다른 서버의 구독자에게 전달되는지 확인
+ */
+class ChatBrokerRelayTest {
+
+    private static final String SESSION_ID = "session";
+
+    private RedisServer redisServer;
+    private AnnotationConfigWebApplicationContext nodeA;
+    private AnnotationConfigWebApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        nodeA = startNode("node-a", port);
+        nodeB = startNode("node-b", port);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        nodeA.close();
+        nodeB.close();
+        redisServer.stop();
+    }
+
+    @Test
+    @DisplayName("한 서버에서 발행한 /sub/chat 메세지는 다른 서버의 구독자에게 한 번만 전달된다")
+    void messageCrossesNodes() throws InterruptedException {
+        BlockingQueue<Message<?>> receivedA = subscribe(nodeA, "/sub/chat/room/1");
+        BlockingQueue<Message<?>> receivedB = subscribe(nodeB, "/sub/chat/room/1");
+
+        // 리스너 구독이 끝날 때까지 대기
+        Thread.sleep(500);
+
+        nodeA.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class)
+                .convertAndSend("/sub/chat/room/1", Map.of("content", "hi"));
+
+        // A 는 로컬 전달만(중계된 메세지가 되돌아오지 않음)
+        Message<?> local = receivedA.poll(1, TimeUnit.SECONDS);
+        assertThat(local).isNotNull();
+        assertThat(payload(local)).isEqualTo("{\"content\":\"hi\"}");
+
+        Message<?> relayed = receivedB.poll(5, TimeUnit.SECONDS);
+        assertThat(relayed).isNotNull();
+        assertThat(SimpMessageHeaderAccessor.getDestination(relayed.getHeaders())).isEqualTo("/sub/chat/room/1");
+        assertThat(payload(relayed)).isEqualTo("{\"content\":\"hi\"}");
+
+        // B 에 중계된 메세지는 다시 발행되지 않으므로 A 에 추가로 도착하지 않음
+        assertThat(receivedA.poll(500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(receivedB.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("/sub/chat 이외의 경로는 다른 서버로 전달하지 않는다")
+    void otherDestinationsStayLocal() throws InterruptedException {
+        BlockingQueue<Message<?>> receivedB = subscribe(nodeB, "/sub/notice");
+        Thread.sleep(500);
+
+        nodeA.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class)
+                .convertAndSend("/sub/notice", Map.of());
+
+        assertThat(receivedB.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("한 서버에서 채팅방을 나가면 다른 서버의 채팅방 접근 캐시도 제거된다")
+    void membershipEvictionCrossesNodes() throws InterruptedException {
+        ChatRoomAccessCache cacheA = nodeA.getBean(ChatRoomAccessCache.class);
+        ChatRoomAccessCache cacheB = nodeB.getBean(ChatRoomAccessCache.class);
+        cacheA.putMember(1L, 10L);
+        cacheB.putMember(1L, 10L);
+        cacheB.putMember(2L, 10L);
+        Thread.sleep(500);
+
+        cacheA.evictMember(1L, 10L);
+
+        assertThat(cacheA.isMember(1L, 10L)).isFalse();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cacheB.isMember(1L, 10L) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(cacheB.isMember(1L, 10L)).isFalse();
+        assertThat(cacheB.isMember(2L, 10L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("한 서버에서 채팅방을 삭제하면 다른 서버의 채팅방과 참여 캐시가 모두 제거된다")
+    void roomEvictionCrossesNodes() throws InterruptedException {
+        ChatRoomAccessCache cacheB = nodeB.getBean(ChatRoomAccessCache.class);
+        cacheB.putRoom(10L, RoomType.TOGETHER);
+        cacheB.putMember(1L, 10L);
+        cacheB.putMember(2L, 10L);
+        cacheB.putMember(1L, 20L);
+        Thread.sleep(500);
+
+        nodeA.getBean(ChatRoomAccessCache.class).evictRoom(10L);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cacheB.getRoomType(10L) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(cacheB.getRoomType(10L)).isNull();
+        assertThat(cacheB.isMember(1L, 10L)).isFalse();
+        assertThat(cacheB.isMember(2L, 10L)).isFalse();
+        assertThat(cacheB.isMember(1L, 20L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("한 서버에서 프로필을 변경하면 다른 서버의 작성자 프로필 캐시도 제거된다")
+    void senderProfileEvictionCrossesNodes() throws InterruptedException {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(1L);
+        when(user.getNickname()).thenReturn("nickname");
+        UserRepository usersB = nodeB.getBean(UserRepository.class);
+        when(usersB.findAllById(any())).thenReturn(List.of(user));
+        SenderProfileResolver resolverB = nodeB.getBean(SenderProfileResolver.class);
+        resolverB.resolve(List.of(1L));
+        resolverB.resolve(List.of(1L));
+        verify(usersB, times(1)).findAllById(any());
+        Thread.sleep(500);
+
+        nodeA.publishEvent(new UserProfileUpdatedEvent(1L));
+
+        // 제거되면 다음 조회에서 다시 읽음
+        long deadline = System.currentTimeMillis() + 5000;
+        while (mockingDetails(usersB).getInvocations().size() < 2 && System.currentTimeMillis() < deadline) {
+            resolverB.resolve(List.of(1L));
+            Thread.sleep(50);
+        }
+        verify(usersB, atLeast(2)).findAllById(any());
+    }
+
+    /**
+     * simple broker 에 구독을 등록하고, 구독자에게 보내는 메세지(clientOutboundChannel)를 기록
+     */
+    private static BlockingQueue<Message<?>> subscribe(AnnotationConfigWebApplicationContext node, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setSubscriptionId("sub-" + destination);
+        accessor.setDestination(destination);
+        node.getBean("simpleBrokerMessageHandler", MessageHandler.class)
+                .handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+
+        BlockingQueue<Message<?>> received = new LinkedBlockingQueue<>();
+        node.getBean("clientOutboundChannel", SubscribableChannel.class).subscribe(message -> {
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                received.add(message);
+            }
+        });
+        return received;
+    }
+
+    private static String payload(Message<?> message) {
+        return new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+    }
+
+    private static AnnotationConfigWebApplicationContext startNode(String nodeId, int port) {
+        // 웹소켓 컨테이너 설정(ServletServerContainerFactoryBean)이 찾는 서버 컨테이너
+        MockServletContext servletContext = new MockServletContext();
+        servletContext.setAttribute(ServerContainer.class.getName(), mock(ServerContainer.class));
+
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(servletContext);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "chat.broker.mode", "redis",
+                "chat.broker.node-id", nodeId,
+                "test.redis.port", port)));
+        context.register(NodeConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * 실제 웹소켓 설정과 Redis 브로커 설정을 사용하고, 메세지 처리와 관계없는 인바운드 인터셉터만 대체
+     */
+    @Configuration
+    @EnableWebSocketMessageBroker
+    @Import({StompWebSocketConfig.class, ChatBrokerRelayConfig.class})
+    static class NodeConfig {
+
+        @Bean
+        RedisConnectionFactory redisConnectionFactory(Environment environment) {
+            return new LettuceConnectionFactory("localhost",
+                    environment.getRequiredProperty("test.redis.port", Integer.class));
+        }
+
+        @Bean
+        StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+            return new StringRedisTemplate(redisConnectionFactory);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ChatRoomAccessCache chatRoomAccessCache(ApplicationEventPublisher eventPublisher) {
+            return new ChatRoomAccessCache(eventPublisher, 100, 600);
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        SenderProfileResolver senderProfileResolver(UserRepository userRepository) {
+            return new SenderProfileResolver(userRepository, 100, 300);
+        }
+
+        @Bean
+        StompSessionRegistry stompSessionRegistry(MeterRegistry meterRegistry) {
+            return new StompSessionRegistry(meterRegistry);
+        }
+
+        @Bean
+        StompChannelExecutorFactory stompChannelExecutorFactory(Environment environment, MeterRegistry meterRegistry) {
+            return new StompChannelExecutorFactory(environment, meterRegistry);
+        }
+
+        @Bean
+        StompErrorHandler stompErrorHandler() {
+            return new StompErrorHandler();
+        }
+
+        @Bean
+        ChatInboundInterceptor chatInboundInterceptor() {
+            return mock(ChatInboundInterceptor.class);
+        }
+    }
+}
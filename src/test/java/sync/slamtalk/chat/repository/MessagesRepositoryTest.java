@@ -3,23 +3,39 @@ package sync.slamtalk.chat.repository;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
 import sync.slamtalk.chat.entity.ChatRoom;
 import sync.slamtalk.chat.entity.Messages;
 import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.chat.service.MessageIdGenerator;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(MessageIdGenerator.class) // Messages 아이디 발급
 @Slf4j
 class MessagesRepositoryTest {
 
@@ -32,6 +48,9 @@ class MessagesRepositoryTest {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private CapturingStatementInspector statementInspector;
+
 
     @Test
     void findByChatRoomId() {
@@ -133,13 +152,16 @@ class MessagesRepositoryTest {
         entityManager.persist(messages7);
 
         // 내림차순(가장최근꺼부터 출력)
-        List<Messages> allByChatRoom = messagesRepository.findAllByChatRoom(chatRoomBasket.getId());
+        List<Messages> allByChatRoom = messagesRepository.findLatestByChatRoomId(chatRoomBasket.getId(), PageRequest.of(0, 30));
 
-        // 오름차순(가장오래된거부터 출력)
-        List<Messages> byChatRoomId = messagesRepository.findByChatRoomId(chatRoomBasket.getId());
+        // 특정 메세지 이하 다음 페이지(keyset)
+        List<Messages> beforeMessages6 = messagesRepository.findBeforeByChatRoomId(chatRoomBasket.getId(), messages6.getId(), PageRequest.of(0, 2));
 
         Messages messages = allByChatRoom.get(0);
         assertTrue(messages.getId().equals(messages7.getId()));
+        assertEquals(4, allByChatRoom.size());
+        Assertions.assertThat(beforeMessages6).extracting(Messages::getId)
+                .containsExactly(messages6.getId(), messages2.getId());
 
         for(Messages m : allByChatRoom){
             System.out.println(m.getContent()+m.getCreationTime());
@@ -147,4 +169,148 @@ class MessagesRepositoryTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAfterByChatRoomIds() {
+        ChatRoom chatRoomA = ChatRoom.builder()
+                .name("A")
+                .roomType(RoomType.TOGETHER)
+                .build();
+        ChatRoom chatRoomB = ChatRoom.builder()
+                .name("B")
+                .roomType(RoomType.DIRECT)
+                .build();
+        entityManager.persist(chatRoomA);
+        entityManager.persist(chatRoomB);
+
+        Messages[] roomA = new Messages[5];
+        Messages[] roomB = new Messages[2];
+        for (int i = 0; i < roomA.length; i++) {
+            roomA[i] = Messages.builder()
+                    .chatRoom(chatRoomA)
+                    .content("A" + i)
+                    .creationTime(LocalDateTime.now().toString())
+                    .build();
+            entityManager.persist(roomA[i]);
+        }
+        for (int i = 0; i < roomB.length; i++) {
+            roomB[i] = Messages.builder()
+                    .chatRoom(chatRoomB)
+                    .content("B" + i)
+                    .creationTime(LocalDateTime.now().toString())
+                    .build();
+            entityManager.persist(roomB[i]);
+        }
+        entityManager.flush();
+
+        // 채팅방별 기준 메세지 이후를 오래된 순으로 최대 2개씩, 한 번의 쿼리로
+        List<ChatMessageDTO> messages = messagesRepository.findAfterByChatRoomIds(
+                Map.of(chatRoomA.getId(), roomA[1].getId(), chatRoomB.getId(), 0L), 2);
+
+        Assertions.assertThat(messages).extracting(ChatMessageDTO::getMessageId)
+                .containsExactly(
+                        roomA[2].getId().toString(), roomA[3].getId().toString(),
+                        roomB[0].getId().toString(), roomB[1].getId().toString());
+    }
+
+    @Test
+    void messageIdIncreasesInSaveOrder() {
+        ChatRoom chatRoom = ChatRoom.builder()
+                .name("TEST ROOM")
+                .roomType(RoomType.DIRECT)
+                .build();
+        entityManager.persist(chatRoom);
+
+        Messages previous = null;
+        for (int i = 0; i < 300; i++) {
+            Messages messages = Messages.builder()
+                    .chatRoom(chatRoom)
+                    .content("메세지" + i)
+                    .creationTime(LocalDateTime.now().toString())
+                    .build();
+            entityManager.persist(messages);
+
+            // IDENTITY 없이 아이디가 persist 시점에 발급되고, 저장 순서대로 증가해야 함
+            assertNotNull(messages.getId());
+            if (previous != null) {
+                Assertions.assertThat(messages.getId()).isGreaterThan(previous.getId());
+            }
+            previous = messages;
+        }
+    }
+
+    @Test
+    void messageHistoryQueriesUseChatRoomMessageIndex() {
+        // 최신 페이지 / keyset 다음 페이지 조회가 실제로 만든 SQL 이 (chatroom_id, message_id DESC) 인덱스를 정렬 없이 읽어야 함
+        List<String> queries = new ArrayList<>();
+        statementInspector.clear();
+        messagesRepository.findLatestByChatRoomId(1L, PageRequest.of(0, 30));
+        queries.add(statementInspector.last());
+        statementInspector.clear();
+        messagesRepository.findBeforeByChatRoomId(1L, 1000L, PageRequest.of(0, 30));
+        queries.add(statementInspector.last());
+
+        for (String query : queries) {
+            String plan = explain(query);
+            log.debug("sql : {}, plan : {}", query, plan);
+
+            Assertions.assertThat(plan)
+                    .containsIgnoringCase("IDX_MESSAGES_CHATROOM_MESSAGE")
+                    .containsIgnoringCase("index sorted");
+        }
+    }
+
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // 실행 계획은 바인딩 값과 관계없으므로 모든 파라미터에 같은 값
+                int parameterCount = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    statement.setLong(i, 1L);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Hibernate 가 실행하는 SQL 을 기록
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        String last() {
+            Assertions.assertThat(statements).isNotEmpty();
+            return statements.get(statements.size() - 1);
+        }
+    }
+
+    @TestConfiguration
+    static class StatementInspectorConfig {
+
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector statementInspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+        }
+    }
+}
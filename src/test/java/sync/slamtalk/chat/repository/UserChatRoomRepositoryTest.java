@@ -108,4 +108,31 @@ class UserChatRoomRepositoryTest {
         assertTrue(byUserChatroom.isPresent(),"존재합니다");
 
     }
+
+    @Test
+    void findActiveByUserChatroom() {
+        User user = User.of("test2@naver.com", password, "nickname2");
+        entityManager.persist(user);
+        ChatRoom chatRoom = ChatRoom.builder()
+                .name("나간방")
+                .roomType(RoomType.BASKETBALL)
+                .build();
+        entityManager.persist(chatRoom);
+        UserChatRoom userChatRoom = UserChatRoom.builder()
+                .user(user)
+                .chat(chatRoom)
+                .readIndex(0L)
+                .build();
+        entityManager.persist(userChatRoom);
+
+        assertTrue(userChatRoomRepository.findActiveByUserChatroom(user.getId(), chatRoom.getId()).isPresent());
+
+        // 나간 채팅방(softDelete)은 조회되지 않음
+        userChatRoom.delete();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(userChatRoomRepository.findActiveByUserChatroom(user.getId(), chatRoom.getId()).isEmpty());
+        assertTrue(userChatRoomRepository.findByUserChatroom(user.getId(), chatRoom.getId()).isPresent());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package sync.slamtalk.chat.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.entity.ChatRoom;
+import sync.slamtalk.chat.entity.Messages;
+import sync.slamtalk.chat.entity.RoomType;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.redis.RedisService.CachedHistory;
+import sync.slamtalk.chat.repository.MessageArchiveRepository;
+import sync.slamtalk.chat.repository.MessagesRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(MessageIdGenerator.class) // Messages 아이디 발급
+class ChatMessageArchiverTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MessagesRepository messagesRepository;
+    @Autowired
+    private MessageArchiveRepository messageArchiveRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("보관된 메세지는 messages 에서 옮겨지고, 내역 조회는 보관 테이블까지 이어서 페이지를 나눈다")
+    void archiveAndReadAcrossBoundary() throws InterruptedException {
+        ChatRoom chatRoom = ChatRoom.builder()
+                .name("TEST ROOM")
+                .roomType(RoomType.TOGETHER)
+                .build();
+        entityManager.persist(chatRoom);
+
+        // 보관 대상(기준 시각 이전)
+        Messages[] old = new Messages[3];
+        for (int i = 0; i < old.length; i++) {
+            old[i] = persistMessage(chatRoom, "old" + i);
+        }
+        entityManager.flush();
+        Thread.sleep(5);
+
+        // 기준 시각 = 지금, 묶음 크기 2 로 여러 묶음에 걸쳐 이동
+        ChatMessageArchiver archiver = new ChatMessageArchiver(jdbcTemplate, transactionTemplate, 0, 2);
+        archiver.archive();
+        // 다시 실행해도 중복으로 옮기지 않음
+        archiver.archive();
+
+        Messages[] recent = new Messages[3];
+        for (int i = 0; i < recent.length; i++) {
+            recent[i] = persistMessage(chatRoom, "recent" + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(messageArchiveRepository.count()).isEqualTo(3);
+        assertThat(messagesRepository.findAll()).extracting(Messages::getId)
+                .containsExactlyInAnyOrder(recent[0].getId(), recent[1].getId(), recent[2].getId());
+
+        ChatHistoryReader reader = historyReader();
+
+        // 첫 페이지 : messages 3건 + 보관 1건
+        List<ChatMessageDTO> first = reader.readBefore(chatRoom.getId(), null, 4);
+        assertThat(first).extracting(ChatMessageDTO::getMessageId)
+                .containsExactly(id(recent[2]), id(recent[1]), id(recent[0]), id(old[2]));
+
+        // 다음 페이지 : 보관 테이블만
+        long next = Long.parseLong(first.get(first.size() - 1).getMessageId()) - 1;
+        List<ChatMessageDTO> second = reader.readBefore(chatRoom.getId(), next, 4);
+        assertThat(second).extracting(ChatMessageDTO::getMessageId)
+                .containsExactly(id(old[1]), id(old[0]));
+        assertThat(second).extracting(ChatMessageDTO::getContent)
+                .containsExactly("old1", "old0");
+    }
+
+    private Messages persistMessage(ChatRoom chatRoom, String content) {
+        Messages messages = Messages.builder()
+                .chatRoom(chatRoom)
+                .content(content)
+                .creationTime(LocalDateTime.now().toString())
+                .build();
+        entityManager.persist(messages);
+        return messages;
+    }
+
+    // Redis 에 캐싱된 내역이 없는 상태
+    private ChatHistoryReader historyReader() {
+        RedisService redisService = mock(RedisService.class);
+        when(redisService.getContiguousMessages(anyLong(), anyLong(), anyInt()))
+                .thenReturn(new CachedHistory(Collections.emptyList(), null));
+        SenderProfileResolver senderProfileResolver = mock(SenderProfileResolver.class);
+        when(senderProfileResolver.resolve(anyCollection())).thenReturn(Map.of());
+        return new ChatHistoryReader(redisService, messagesRepository, messageArchiveRepository, senderProfileResolver);
+    }
+
+    private static String id(Messages messages) {
+        return messages.getId().toString();
+    }
+}
@@ -0,0 +1,78 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.MessagesRepository;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatMessageWriterTest {
+
+    @Mock
+    private MessagesRepository messagesRepository;
+    @Mock
+    private RedisService redisService;
+    @Mock
+    private ChatNotificationServiceImpl chatNotificationService;
+
+    @Test
+    @DisplayName("배치 저장이 계속 실패하면 한 건씩 저장하고 실패한 메세지만 실패 목록에 보관한다")
+    void isolateFailedMessage() throws InterruptedException {
+        // 메세지 2 가 포함된 저장은 항상 실패(중복 키 등)
+        doThrow(new IllegalStateException("duplicate key"))
+                .when(messagesRepository).insertMessages(argThat(batch -> batch.stream()
+                        .anyMatch(m -> m.getMessageId().equals("2"))));
+
+        ChatMessageWriter writer = new ChatMessageWriter(messagesRepository, redisService, chatNotificationService,
+                10, 200, 1, 100);
+        writer.afterPropertiesSet();
+        writer.enqueue(message("1"));
+        writer.enqueue(message("2"));
+        writer.enqueue(message("3"));
+        writer.destroy();
+
+        // 나머지 메세지는 저장되고 알림 생성
+        verify(chatNotificationService).notificationMessage(1L, 10L, 100L);
+        verify(chatNotificationService).notificationMessage(3L, 10L, 100L);
+        verify(chatNotificationService, never()).notificationMessage(eq(2L), anyLong(), anyLong());
+
+        // 실패한 메세지만 실패 목록에 보관
+        verify(redisService).pushDeadLetterMessages(List.of(message("2")));
+        verify(redisService, times(1)).pushDeadLetterMessages(anyList());
+    }
+
+    @Test
+    @DisplayName("실패 없이 저장되면 실패 목록을 사용하지 않는다")
+    void noDeadLetterOnSuccess() throws InterruptedException {
+        ChatMessageWriter writer = new ChatMessageWriter(messagesRepository, redisService, chatNotificationService,
+                10, 200, 1, 100);
+        writer.afterPropertiesSet();
+        writer.enqueue(message("1"));
+        writer.destroy();
+
+        verify(chatNotificationService).notificationMessage(1L, 10L, 100L);
+        verifyNoInteractions(redisService);
+    }
+
+    private static ChatMessageDTO message(String messageId) {
+        return ChatMessageDTO.builder()
+                .messageId(messageId)
+                .roomId("10")
+                .senderId(100L)
+                .senderNickname("sender")
+                .content("content " + messageId)
+                .timestamp("2024-01-01T00:00:00")
+                .build();
+    }
+}
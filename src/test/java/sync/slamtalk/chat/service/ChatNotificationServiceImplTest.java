@@ -0,0 +1,129 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sync.slamtalk.chat.dto.ChatNotificationTargetDto;
+import sync.slamtalk.chat.repository.ChatQueryRepository;
+import sync.slamtalk.notification.NotificationSender;
+import sync.slamtalk.notification.dto.request.GroupedChatNotificationRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatNotificationServiceImplTest {
+
+    @Mock
+    private ChatQueryRepository chatQueryRepository;
+    @Mock
+    private MessageService messageService;
+    @Mock
+    private NotificationSender notificationSender;
+    @Mock
+    private ChatReadIndexStore chatReadIndexStore;
+    @Mock
+    private ChatPresenceService chatPresenceService;
+    @InjectMocks
+    private ChatNotificationServiceImpl chatNotificationService;
+
+    @Test
+    @DisplayName("연속으로 도착한 메세지는 채팅방당 한 번의 알림으로 모아서 한 번에 생성한다")
+    void coalesceBurst() {
+        // 사용자 1 이 보낸 20개의 메세지
+        for (long messageId = 101; messageId <= 120; messageId++) {
+            chatNotificationService.notificationMessage(messageId, 10L, 1L);
+        }
+        when(chatQueryRepository.findNotificationTargets(Set.of(10L))).thenReturn(List.of(
+                new ChatNotificationTargetDto(1000L, 1L, 10L, 0L),   // 보낸 사람
+                new ChatNotificationTargetDto(1001L, 2L, 10L, 100L),
+                new ChatNotificationTargetDto(1002L, 3L, 10L, 120L)  // 이미 모두 읽음
+        ));
+        when(messageService.newMessage(10L, 1L)).thenReturn("새로운 메세지");
+
+        chatNotificationService.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GroupedChatNotificationRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationSender, times(1)).sendAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(captor.getValue().get(0).getTargets()).isEqualTo(Map.of(2L, 1001L));
+        verify(messageService, times(1)).newMessage(anyLong(), anyLong());
+
+        // 이미 생성한 알림은 다시 생성하지 않음
+        chatNotificationService.flush();
+        verifyNoMoreInteractions(notificationSender);
+    }
+
+    @Test
+    @DisplayName("모인 기간에 다른 사용자의 메세지가 있으면 보낸 사람에게도 알림을 생성한다")
+    void notifySenderWhenOthersReplied() {
+        chatNotificationService.notificationMessage(201L, 20L, 1L);
+        chatNotificationService.notificationMessage(202L, 20L, 2L);
+        when(chatQueryRepository.findNotificationTargets(Set.of(20L))).thenReturn(List.of(
+                new ChatNotificationTargetDto(2000L, 1L, 20L, 200L),
+                new ChatNotificationTargetDto(2001L, 2L, 20L, 200L)
+        ));
+        when(messageService.newMessage(any(), any())).thenReturn("새로운 메세지");
+
+        chatNotificationService.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GroupedChatNotificationRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationSender).sendAll(captor.capture());
+        assertThat(captor.getValue().get(0).getTargets()).isEqualTo(Map.of(1L, 2000L, 2L, 2001L));
+        verify(messageService).newMessage(20L, 2L);
+    }
+
+    @Test
+    @DisplayName("채팅방을 보고 있는 사용자에게는 알림을 생성하지 않는다")
+    void skipPresentUsers() {
+        chatNotificationService.notificationMessage(301L, 30L, 1L);
+        when(chatQueryRepository.findNotificationTargets(Set.of(30L))).thenReturn(List.of(
+                new ChatNotificationTargetDto(3001L, 2L, 30L, 300L),  // 채팅방을 보고 있음
+                new ChatNotificationTargetDto(3002L, 3L, 30L, 300L)
+        ));
+        when(chatPresenceService.getPresentUsers(Set.of(30L))).thenReturn(Map.of(30L, Set.of(2L)));
+        when(messageService.newMessage(30L, 1L)).thenReturn("새로운 메세지");
+
+        chatNotificationService.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GroupedChatNotificationRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationSender).sendAll(captor.capture());
+        assertThat(captor.getValue().get(0).getTargets()).isEqualTo(Map.of(3L, 3002L));
+    }
+
+    @Test
+    @DisplayName("알림 생성에 실패한 채팅방은 다음 주기에 그 사이 도착한 메세지와 합쳐서 다시 생성한다")
+    void retryFailedRooms() {
+        chatNotificationService.notificationMessage(401L, 40L, 1L);
+        when(chatQueryRepository.findNotificationTargets(Set.of(40L)))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(new ChatNotificationTargetDto(4001L, 2L, 40L, 400L)));
+        when(messageService.newMessage(40L, 3L)).thenReturn("새로운 메세지");
+
+        chatNotificationService.flush();
+        verifyNoInteractions(notificationSender);
+
+        // 실패 후 도착한 메세지
+        chatNotificationService.notificationMessage(402L, 40L, 3L);
+        chatNotificationService.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GroupedChatNotificationRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationSender).sendAll(captor.capture());
+        assertThat(captor.getValue().get(0).getTargets()).isEqualTo(Map.of(2L, 4001L));
+        verify(messageService).newMessage(40L, 3L);
+    }
+}
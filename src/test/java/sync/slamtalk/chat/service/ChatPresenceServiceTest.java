@@ -0,0 +1,107 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import sync.slamtalk.chat.dto.response.ChatPresenceDTO;
+import sync.slamtalk.chat.dto.response.ChatPresenceDTO.PresenceType;
+import sync.slamtalk.chat.redis.RedisService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatPresenceServiceTest {
+
+    @Mock
+    private RedisService redisService;
+    @Mock
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private ChatPresenceService chatPresenceService;
+
+    @BeforeEach
+    void setUp() {
+        chatPresenceService = new ChatPresenceService(redisService, messagingTemplate, 30000, "node-a");
+    }
+
+    @Test
+    @DisplayName("같은 서버의 여러 세션으로 들어온 사용자는 한 번만 입장하고 마지막 세션이 나갈 때 퇴장한다")
+    void countLocalSessions() {
+        when(redisService.addPresence(eq(10L), eq(1L), eq("node-a"), anyLong(), anyLong(), anyLong())).thenReturn(true);
+        when(redisService.removePresence(eq(10L), eq(1L), eq("node-a"), anyLong())).thenReturn(true);
+
+        chatPresenceService.join("s-1", "sub-1", 1L, 10L);
+        chatPresenceService.join("s-2", "sub-1", 1L, 10L);
+        assertThat(published()).containsExactly(PresenceType.JOIN);
+
+        chatPresenceService.leave("s-1", "sub-1");
+        verify(redisService, never()).removePresence(any(), any(), any(), anyLong());
+        assertThat(published()).containsExactly(PresenceType.JOIN);
+
+        chatPresenceService.leave("s-2", "sub-1");
+        verify(redisService).removePresence(eq(10L), eq(1L), eq("node-a"), anyLong());
+        assertThat(published()).containsExactly(PresenceType.JOIN, PresenceType.LEAVE);
+    }
+
+    @Test
+    @DisplayName("다른 서버에도 접속 중인 사용자는 입장/퇴장을 발행하지 않는다")
+    void skipWhenPresentOnOtherNode() {
+        when(redisService.addPresence(eq(10L), eq(1L), eq("node-a"), anyLong(), anyLong(), anyLong())).thenReturn(false);
+        when(redisService.removePresence(eq(10L), eq(1L), eq("node-a"), anyLong())).thenReturn(false);
+
+        chatPresenceService.join("s-1", "sub-1", 1L, 10L);
+        chatPresenceService.leave("s-1", "sub-1");
+
+        verify(redisService).removePresence(eq(10L), eq(1L), eq("node-a"), anyLong());
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 세션이 구독한 모든 채팅방에서 퇴장한다")
+    void releaseAllRoomsOnDisconnect() {
+        when(redisService.addPresence(anyLong(), eq(1L), eq("node-a"), anyLong(), anyLong(), anyLong())).thenReturn(true);
+        when(redisService.removePresence(anyLong(), eq(1L), eq("node-a"), anyLong())).thenReturn(true);
+
+        chatPresenceService.join("s-1", "sub-1", 1L, 10L);
+        chatPresenceService.join("s-1", "sub-2", 1L, 20L);
+        chatPresenceService.disconnect("s-1");
+
+        verify(redisService).removePresence(eq(10L), eq(1L), eq("node-a"), anyLong());
+        verify(redisService).removePresence(eq(20L), eq(1L), eq("node-a"), anyLong());
+        assertThat(published()).containsExactlyInAnyOrder(
+                PresenceType.JOIN, PresenceType.JOIN, PresenceType.LEAVE, PresenceType.LEAVE);
+
+        // 이미 정리된 세션은 다시 퇴장하지 않음
+        chatPresenceService.disconnect("s-1");
+        verify(redisService, times(2)).removePresence(anyLong(), anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("같은 구독 아이디로 다시 구독해도 한 번만 센다")
+    void ignoreDuplicateSubscription() {
+        when(redisService.addPresence(eq(10L), eq(1L), eq("node-a"), anyLong(), anyLong(), anyLong())).thenReturn(true);
+        when(redisService.removePresence(eq(10L), eq(1L), eq("node-a"), anyLong())).thenReturn(true);
+
+        chatPresenceService.join("s-1", "sub-1", 1L, 10L);
+        chatPresenceService.join("s-1", "sub-1", 1L, 10L);
+        chatPresenceService.leave("s-1", "sub-1");
+
+        verify(redisService, times(1)).addPresence(anyLong(), anyLong(), anyString(), anyLong(), anyLong(), anyLong());
+        assertThat(published()).containsExactly(PresenceType.JOIN, PresenceType.LEAVE);
+    }
+
+    private List<PresenceType> published() {
+        ArgumentCaptor<ChatPresenceDTO> captor = ArgumentCaptor.forClass(ChatPresenceDTO.class);
+        verify(messagingTemplate, atLeast(0)).convertAndSend(anyString(), captor.capture());
+        return captor.getAllValues().stream().map(ChatPresenceDTO::getType).toList();
+    }
+}
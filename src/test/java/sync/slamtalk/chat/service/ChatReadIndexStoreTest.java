@@ -0,0 +1,114 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import redis.embedded.RedisServer;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.UserChatRoomRepository;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 임베디드 Redis 로 읽은 위치 저장 스크립트(SAVE_READ_INDEX_SCRIPT)와 DB 반영 대상(dirty) 관리 확인
+ */
+class ChatReadIndexStoreTest {
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisService redisService;
+    private UserChatRoomRepository userChatRoomRepository;
+    private ChatReadIndexStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory("localhost", port);
+        connectionFactory.afterPropertiesSet();
+        RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setDefaultSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+        redisService = new RedisService(redisTemplate, new StringRedisTemplate(connectionFactory));
+
+        userChatRoomRepository = mock(UserChatRoomRepository.class);
+        store = new ChatReadIndexStore(redisService, userChatRoomRepository, 600, 500);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    @DisplayName("저장된 읽은 위치보다 작은 값은 덮어쓰지 않는다")
+    void lowerReadIndexNeverOverwritesHigher() {
+        store.save(1L, 10L, 100L);
+        store.save(1L, 10L, 50L);
+        assertThat(store.getReadIndexes(1L)).containsExactly(Map.entry(10L, 100L));
+
+        store.save(1L, 10L, 150L);
+        assertThat(store.getReadIndexes(1L)).containsExactly(Map.entry(10L, 150L));
+        assertThat(store.resolve(1L, 10L, 120L)).isEqualTo(150L);
+        assertThat(store.resolve(1L, 10L, 200L)).isEqualTo(200L);
+    }
+
+    @Test
+    @DisplayName("저장한 사용자는 DB 반영 대상으로 표시되고, 꺼내면 다시 꺼내지지 않는다")
+    void dirtyUsersArePoppedOnce() {
+        store.save(1L, 10L, 100L);
+        store.save(1L, 20L, 5L);
+        store.save(2L, 10L, 200L);
+
+        assertThat(redisService.popDirtyReadIndexes(500)).isEqualTo(Map.of(
+                1L, Map.of(10L, 100L, 20L, 5L),
+                2L, Map.of(10L, 200L)));
+        assertThat(redisService.popDirtyReadIndexes(500)).isEmpty();
+
+        // 읽은 위치는 반영 대상에서 빠져도 그대로 남아 조회에 사용
+        assertThat(store.getReadIndexes(1L)).containsEntry(10L, 100L);
+    }
+
+    @Test
+    @DisplayName("변경된 읽은 위치를 한 번에 DB 에 반영한다")
+    void flushDirtyReadIndexes() {
+        store.save(1L, 10L, 100L);
+        store.save(2L, 10L, 200L);
+
+        store.flush();
+
+        verify(userChatRoomRepository).updateReadIndexes(Map.of(1L, Map.of(10L, 100L), 2L, Map.of(10L, 200L)));
+        // 반영할 변경이 없으면 DB 를 호출하지 않음
+        store.flush();
+        verifyNoMoreInteractions(userChatRoomRepository);
+    }
+
+    @Test
+    @DisplayName("DB 반영에 실패하면 다시 반영 대상으로 표시해 다음 주기에 반영한다")
+    void failedFlushMarksDirtyAgain() {
+        store.save(1L, 10L, 100L);
+        doThrow(new IllegalStateException("db down")).when(userChatRoomRepository).updateReadIndexes(any());
+
+        store.flush();
+
+        assertThat(redisService.popDirtyReadIndexes(500)).isEqualTo(Map.of(1L, Map.of(10L, 100L)));
+    }
+}
@@ -0,0 +1,132 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.metrics.ChatMetrics;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.ChatRoomRepository;
+import sync.slamtalk.common.BaseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatServiceImplTest {
+
+    @Mock
+    private ChatRoomRepository chatRoomRepository;
+    @Mock
+    private RedisService redisService;
+    @Mock
+    private MessageIdGenerator messageIdGenerator;
+    @Mock
+    private ChatMessageWriter chatMessageWriter;
+    @Mock
+    private ChatRoomAccessCache chatRoomAccessCache;
+    @Mock
+    private ChatMetrics chatMetrics;
+    @InjectMocks
+    private ChatServiceImpl chatService;
+
+    @Test
+    @DisplayName("처음 보낸 clientMessageId 는 선점한 뒤 저장한다")
+    void saveFirstMessage() {
+        when(redisService.claimClientMessageId(eq(10L), eq(1L), eq("c-1"), anyLong())).thenReturn(null);
+        when(chatRoomRepository.existsById(10L)).thenReturn(true);
+        when(messageIdGenerator.nextId()).thenReturn(123L);
+
+        ChatMessageDTO message = message("c-1");
+        Long messageId = chatService.saveMessage(message);
+
+        assertThat(messageId).isEqualTo(123L);
+        verify(redisService).assignClientMessageId(eq(10L), eq(1L), eq("c-1"), eq(123L), anyLong());
+        verify(redisService).saveMessage(eq(message), anyLong());
+        verify(chatMessageWriter).enqueue(message);
+        verify(redisService, never()).releaseClientMessageId(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("이미 처리한 clientMessageId 로 다시 보낸 메세지는 저장하지 않고 null 을 반환한다")
+    void skipDuplicateMessage() {
+        when(redisService.claimClientMessageId(eq(10L), eq(1L), eq("c-1"), anyLong())).thenReturn(123L);
+
+        ChatMessageDTO message = message("c-1");
+        Long messageId = chatService.saveMessage(message);
+
+        assertThat(messageId).isNull();
+        // 확인 응답에 처음 발급한 메세지 아이디
+        assertThat(message.getMessageId()).isEqualTo("123");
+        verify(chatMetrics).recordDuplicateMessage();
+        verifyNoInteractions(chatRoomRepository, messageIdGenerator, chatMessageWriter);
+        verify(redisService, never()).saveMessage(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("저장에 실패하면 같은 clientMessageId 로 다시 보낼 수 있도록 선점을 해제한다")
+    void releaseClaimOnFailure() {
+        when(redisService.claimClientMessageId(eq(10L), eq(1L), eq("c-1"), anyLong())).thenReturn(null);
+        when(chatRoomRepository.existsById(10L)).thenReturn(true);
+        when(messageIdGenerator.nextId()).thenReturn(123L);
+        doThrow(new IllegalStateException("redis down")).when(redisService).saveMessage(any(), anyLong());
+
+        assertThatThrownBy(() -> chatService.saveMessage(message("c-1")))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(redisService).releaseClientMessageId(10L, 1L, "c-1");
+        verifyNoInteractions(chatMessageWriter);
+    }
+
+    @Test
+    @DisplayName("채팅방이 없으면 선점을 해제하고 예외를 던진다")
+    void releaseClaimWhenRoomMissing() {
+        when(redisService.claimClientMessageId(eq(10L), eq(1L), eq("c-1"), anyLong())).thenReturn(null);
+        when(chatRoomRepository.existsById(10L)).thenReturn(false);
+
+        assertThatThrownBy(() -> chatService.saveMessage(message("c-1")))
+                .isInstanceOf(BaseException.class);
+
+        verify(redisService).releaseClientMessageId(10L, 1L, "c-1");
+    }
+
+    @Test
+    @DisplayName("clientMessageId 가 없으면 중복 검사 없이 저장한다")
+    void saveWithoutClientMessageId() {
+        when(chatRoomRepository.existsById(10L)).thenReturn(true);
+        when(messageIdGenerator.nextId()).thenReturn(124L);
+
+        assertThat(chatService.saveMessage(message(null))).isEqualTo(124L);
+        verify(redisService, never()).claimClientMessageId(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 더 큰 아이디를 먼저 확정했으면 그보다 큰 아이디로 다시 발급한다")
+    void reissueIdAfterRoomFloor() {
+        when(chatRoomRepository.existsById(10L)).thenReturn(true);
+        when(messageIdGenerator.nextId()).thenReturn(100L);
+        when(redisService.claimRoomMessageId(eq(10L), eq(100L), anyLong())).thenReturn(150L);
+        when(messageIdGenerator.nextIdAfter(150L)).thenReturn(151L);
+
+        assertThat(chatService.saveMessage(message(null))).isEqualTo(151L);
+        verify(redisService).claimRoomMessageId(eq(10L), eq(151L), anyLong());
+    }
+
+    private static ChatMessageDTO message(String clientMessageId) {
+        return ChatMessageDTO.builder()
+                .roomId("10")
+                .senderId(1L)
+                .senderNickname("sender")
+                .content("hi")
+                .timestamp("2024-01-01T00:00:00")
+                .clientMessageId(clientMessageId)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sync.slamtalk.chat.dto.request.ChatMessageDTO;
+import sync.slamtalk.chat.dto.response.ChatSyncRoomDTO;
+import sync.slamtalk.chat.redis.RedisService;
+import sync.slamtalk.chat.repository.ChatQueryRepository;
+import sync.slamtalk.chat.repository.MessagesRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatSyncReaderTest {
+
+    @Mock
+    private RedisService redisService;
+    @Mock
+    private MessagesRepository messagesRepository;
+    @Mock
+    private ChatQueryRepository chatQueryRepository;
+    @Mock
+    private ChatRoomAccessCache chatRoomAccessCache;
+    @Mock
+    private SenderProfileResolver senderProfileResolver;
+
+    @BeforeEach
+    void setUp() {
+        when(chatRoomAccessCache.isMember(1L, 10L)).thenReturn(true);
+        when(senderProfileResolver.resolve(anyCollection())).thenReturn(Map.of());
+    }
+
+    @Test
+    @DisplayName("DB 의 마지막 메세지보다 앞선 아직 반영되지 않은 메세지도 아이디 순서로 합쳐서 내려준다")
+    void mergePendingMessagesBeforeDatabaseTail() {
+        ChatSyncReader reader = reader(50);
+        when(redisService.getMessagesAfter(Map.of(10L, 100L), 51, true)).thenReturn(Map.of());
+        // 102 는 DB 에 반영되었고 101, 103 은 아직 Redis 에만 있음
+        when(messagesRepository.findAfterByChatRoomIds(eq(Map.of(10L, 100L)), eq(51)))
+                .thenReturn(List.of(message(102)));
+        when(redisService.getMessagesAfter(Map.of(10L, 100L), 51, false))
+                .thenReturn(Map.of(10L, List.of(message(101), message(102), message(103))));
+
+        List<ChatSyncRoomDTO> result = reader.sync(1L, Map.of(10L, 100L));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getMessages()).extracting(ChatMessageDTO::getMessageId)
+                .containsExactly("101", "102", "103");
+        assertThat(result.get(0).isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("합친 메세지가 채팅방별 최대 갯수보다 많으면 앞에서 자르고 hasMore 로 알린다")
+    void trimMergedMessages() {
+        ChatSyncReader reader = reader(2);
+        when(redisService.getMessagesAfter(Map.of(10L, 100L), 3, true)).thenReturn(Map.of());
+        when(messagesRepository.findAfterByChatRoomIds(eq(Map.of(10L, 100L)), eq(3)))
+                .thenReturn(List.of(message(102)));
+        when(redisService.getMessagesAfter(Map.of(10L, 100L), 3, false))
+                .thenReturn(Map.of(10L, List.of(message(101), message(102), message(103))));
+
+        List<ChatSyncRoomDTO> result = reader.sync(1L, Map.of(10L, 100L));
+
+        assertThat(result.get(0).getMessages()).extracting(ChatMessageDTO::getMessageId)
+                .containsExactly("101", "102");
+        assertThat(result.get(0).isHasMore()).isTrue();
+    }
+
+    private ChatSyncReader reader(int messagesPerRoom) {
+        return new ChatSyncReader(redisService, messagesRepository, chatQueryRepository, chatRoomAccessCache,
+                senderProfileResolver, 100, messagesPerRoom, 25);
+    }
+
+    private static ChatMessageDTO message(long messageId) {
+        return ChatMessageDTO.builder()
+                .messageId(String.valueOf(messageId))
+                .roomId("10")
+                .senderId(100L)
+                .senderNickname("sender")
+                .content("content " + messageId)
+                .timestamp("2024-01-01T00:00:00")
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageIdGeneratorTest {
+
+    @Test
+    @DisplayName("여러 서버 모드에서 노드 번호를 지정하지 않으면 시작하지 않는다")
+    void failWithoutNodeInMultiNodeMode() {
+        assertThatThrownBy(() -> new MessageIdGenerator("", "redis"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("노드 번호가 다르면 같은 시각에도 아이디가 겹치지 않는다")
+    void distinctNodesIssueDistinctIds() {
+        MessageIdGenerator node1 = new MessageIdGenerator("1", "redis");
+        MessageIdGenerator node2 = new MessageIdGenerator("2", "redis");
+
+        long previous = 0L;
+        for (int i = 0; i < 1000; i++) {
+            long id1 = node1.nextId();
+            long id2 = node2.nextId();
+            assertThat(id1).isNotEqualTo(id2);
+            assertThat(id1).isGreaterThan(previous);
+            previous = id1;
+        }
+    }
+
+    @Test
+    @DisplayName("단일 서버 모드에서는 노드 0 을 사용한다")
+    void singleNodeDefaultsToZero() {
+        MessageIdGenerator generator = new MessageIdGenerator("", "local");
+        assertThat((generator.nextId() >> 7) & 31).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 더 늦은 시각으로 발급한 아이디보다 큰 아이디를 발급한다")
+    void nextIdAfterFloorFromFasterNode() {
+        MessageIdGenerator slow = new MessageIdGenerator(1L);
+        // 1초 앞선 시계를 가진 노드 2 의 아이디
+        long floor = MessageIdGenerator.firstIdAt(System.currentTimeMillis() + 1000) | (2L << 7) | 5L;
+
+        long id = slow.nextIdAfter(floor);
+
+        assertThat(id).isGreaterThan(floor);
+        assertThat((id >> 7) & 31).isEqualTo(1L);
+        // 이후 발급도 계속 증가
+        assertThat(slow.nextId()).isGreaterThan(id);
+    }
+
+    @Test
+    @DisplayName("빈이 초기화되기 전에는 공유 인스턴스를 사용할 수 없다")
+    void sharedFailsBeforeInitialization() throws Exception {
+        Field field = MessageIdGenerator.class.getDeclaredField("shared");
+        field.setAccessible(true);
+        Object previous = field.get(null);
+        field.set(null, null);
+        try {
+            assertThatThrownBy(MessageIdGenerator::shared).isInstanceOf(IllegalStateException.class);
+
+            MessageIdGenerator generator = new MessageIdGenerator(3L);
+            generator.afterPropertiesSet();
+            assertThat(MessageIdGenerator.shared()).isSameAs(generator);
+        } finally {
+            field.set(null, previous);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package sync.slamtalk.chat.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import sync.slamtalk.chat.service.SenderProfileResolver.SenderProfile;
+import sync.slamtalk.user.UserRepository;
+import sync.slamtalk.user.entity.User;
+import sync.slamtalk.user.event.UserProfileUpdatedEvent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SenderProfileResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SenderProfileResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new SenderProfileResolver(userRepository, 100, 300);
+    }
+
+    @Test
+    @DisplayName("캐시에 있는 작성자는 다시 조회하지 않고, 없는 작성자만 한 번에 조회한다")
+    void queryOnlyCacheMisses() {
+        when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(user(1L, "a"), user(2L, "b")));
+        when(userRepository.findAllById(Set.of(3L))).thenReturn(List.of(user(3L, "c")));
+
+        resolver.resolve(Arrays.asList(1L, 2L, 1L, null));
+        Map<Long, SenderProfile> profiles = resolver.resolve(List.of(1L, 2L, 3L));
+
+        assertThat(profiles).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(profiles.get(3L).nickname()).isEqualTo("c");
+        verify(userRepository).findAllById(Set.of(1L, 2L));
+        verify(userRepository).findAllById(Set.of(3L));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("프로필이 변경된 사용자는 캐시에서 제거되어 다음 조회 때 변경된 프로필을 읽는다")
+    void reloadAfterEviction() {
+        when(userRepository.findAllById(Set.of(1L)))
+                .thenReturn(List.of(user(1L, "before")))
+                .thenReturn(List.of(user(1L, "after")));
+
+        assertThat(resolver.resolve(List.of(1L)).get(1L).nickname()).isEqualTo("before");
+        resolver.evict(new UserProfileUpdatedEvent(1L));
+        assertThat(resolver.resolve(List.of(1L)).get(1L).nickname()).isEqualTo("after");
+
+        // 다른 서버에서 전달된 제거도 같은 캐시를 비움
+        resolver.evictLocally(1L);
+        resolver.resolve(List.of(1L));
+        verify(userRepository, times(3)).findAllById(Set.of(1L));
+    }
+
+    private static User user(Long id, String nickname) {
+        User user = User.of(id + "@slamtalk.com", "password", nickname);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+}
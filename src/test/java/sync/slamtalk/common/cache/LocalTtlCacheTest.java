@@ -0,0 +1,81 @@
+package sync.slamtalk.common.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTtlCacheTest {
+
+    /**
+     * 테스트에서 시간을 직접 옮길 수 있는 Clock
+     */
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    @DisplayName("만료 시간이 지난 항목은 조회되지 않는다")
+    void expire() {
+        MutableClock clock = new MutableClock();
+        LocalTtlCache<Long, String> cache = new LocalTtlCache<>(10, 1000, clock);
+        cache.put(1L, "a");
+
+        clock.advance(Duration.ofMillis(999));
+        assertThat(cache.get(1L)).isEqualTo("a");
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 항목이 제거된다")
+    void evictLeastRecentlyUsed() {
+        LocalTtlCache<Long, String> cache = new LocalTtlCache<>(2, 60_000);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.get(1L); // 1 을 최근 사용으로 갱신
+        cache.put(3L, "c");
+
+        assertThat(cache.getAll(List.of(1L, 2L, 3L))).containsOnlyKeys(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("조건에 맞는 항목을 제거한다")
+    void invalidateIf() {
+        LocalTtlCache<Long, String> cache = new LocalTtlCache<>(10, 60_000);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+
+        cache.invalidateIf(key -> key % 2 == 0);
+
+        assertThat(cache.get(1L)).isEqualTo("a");
+        assertThat(cache.get(2L)).isNull();
+    }
+}
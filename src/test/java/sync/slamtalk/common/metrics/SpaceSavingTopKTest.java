@@ -0,0 +1,44 @@
+package sync.slamtalk.common.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    @DisplayName("키 종류가 capacity 보다 많아도 자주 등장한 키는 상위에 남는다")
+    void keepsHeavyHitters() {
+        SpaceSavingTopK<Long> topK = new SpaceSavingTopK<>(10);
+
+        for (long i = 0; i < 10_000; i++) {
+            topK.add(1L);                 // 가장 많이 등장
+            if (i % 2 == 0) {
+                topK.add(2L);
+            }
+            topK.add(1_000L + i);         // 한 번씩만 등장하는 키
+        }
+
+        List<SpaceSavingTopK.Entry<Long>> top = topK.top(2);
+        assertThat(topK.size()).isEqualTo(10);
+        assertThat(top).extracting(SpaceSavingTopK.Entry::key).containsExactly(1L, 2L);
+        // 실제 빈도 <= count, count - error <= 실제 빈도
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(10_000L);
+        assertThat(top.get(0).count() - top.get(0).error()).isLessThanOrEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("decay 는 카운터를 절반으로 줄이고 0 이 된 키는 제거한다")
+    void decay() {
+        SpaceSavingTopK<String> topK = new SpaceSavingTopK<>(5);
+        topK.add("hot", 8);
+        topK.add("cold");
+
+        topK.decay();
+
+        assertThat(topK.top(5)).containsExactly(new SpaceSavingTopK.Entry<>("hot", 4L, 0L));
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 import sync.slamtalk.common.s3bucket.repository.AwsS3RepositoryImpl;
@@ -56,6 +57,8 @@ class UserServiceTest {
     private AwsS3RepositoryImpl awsS3Repository;
     @Mock
     private EntityToDtoMapper entityToDtoMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
 
     @InjectMocks